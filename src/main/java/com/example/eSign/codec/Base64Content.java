@@ -0,0 +1,144 @@
+package com.example.eSign.codec;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.annotation.JsonDeserialize;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+/**
+ * Binary content received as a base64 JSON string.
+ * <p>
+ * {@link Base64ContentDeserializer} decodes the JSON token while it is being parsed, so the
+ * base64 text never exists as a {@link String}. Small payloads are kept on the heap; larger
+ * ones are spilled to a temporary file, which is deleted by {@link #close()} or, for content
+ * read from an HTTP request, when the request completes.
+ * <p>
+ * Malformed base64 in a JSON request fails the parse. Content built with {@link #decode}
+ * is marked invalid instead, so services can report it the same way as any other bad input.
+ */
+@Slf4j
+@JsonDeserialize(using = Base64ContentDeserializer.class)
+public final class Base64Content implements Closeable {
+
+    private final byte[] bytes;
+    private final Path file;
+    private final long size;
+    private final IllegalArgumentException error;
+
+    private Base64Content(byte[] bytes, Path file, long size, IllegalArgumentException error) {
+        this.bytes = bytes;
+        this.file = file;
+        this.size = size;
+        this.error = error;
+    }
+
+    /**
+     * Content already held in memory.
+     */
+    public static Base64Content of(byte[] bytes) {
+        return new Base64Content(bytes, null, bytes.length, null);
+    }
+
+    /**
+     * Decodes a base64 string, returning invalid content rather than throwing if it is malformed.
+     */
+    public static Base64Content decode(String base64) {
+        try {
+            return of(Base64.getDecoder().decode(base64));
+        } catch (IllegalArgumentException e) {
+            return invalid(e);
+        }
+    }
+
+    static Base64Content ofTempFile(Path file, long size) {
+        return new Base64Content(null, file, size, null);
+    }
+
+    private static Base64Content invalid(IllegalArgumentException error) {
+        return new Base64Content(new byte[0], null, 0, error);
+    }
+
+    /**
+     * Whether the base64 text decoded successfully.
+     */
+    public boolean isValid() {
+        return error == null;
+    }
+
+    /**
+     * Decoding failure of invalid content, otherwise {@code null}.
+     */
+    public IllegalArgumentException getError() {
+        return error;
+    }
+
+    /**
+     * Whether valid content decoded to zero bytes.
+     */
+    public boolean isEmpty() {
+        return isValid() && size == 0;
+    }
+
+    /**
+     * Decoded size in bytes.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Whether the content was spilled to a temporary file rather than held on the heap.
+     */
+    public boolean isFileBacked() {
+        return file != null;
+    }
+
+    /**
+     * The temporary file holding file-backed content, otherwise {@code null}. It stays owned
+     * by this instance and must not be used after {@link #close()}.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * The decoded bytes, read from the temporary file if the content was spilled.
+     */
+    public byte[] toByteArray() throws IOException {
+        return file != null ? Files.readAllBytes(file) : bytes;
+    }
+
+    /**
+     * Re-encodes the content; used when it has to be stored or serialized as text.
+     */
+    @JsonValue
+    public String toBase64() {
+        try {
+            return Base64.getEncoder().encodeToString(toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete temporary base64 content file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "Base64Content[" + size + " bytes]" : "Base64Content[invalid]";
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.eSign.codec;
+
+import com.example.eSign.exception.InvalidBase64ContentException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import tools.jackson.core.Base64Variant;
+import tools.jackson.core.Base64Variants;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.TokenStreamLocation;
+import tools.jackson.core.exc.JacksonIOException;
+import tools.jackson.core.exc.StreamReadException;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Decodes a base64 JSON string straight from the parser's input buffer into
+ * {@link Base64Content}, without materialising the text.
+ * <p>
+ * Decoded bytes accumulate on the heap up to {@link #SPILL_THRESHOLD} and then continue
+ * into a temporary file. When parsing an HTTP request body the file is also registered for
+ * deletion at the end of the request, so it is cleaned up even if no service consumes it.
+ * <p>
+ * Malformed base64 fails the whole JSON parse with {@link InvalidBase64ContentException},
+ * which is answered with a 400 response.
+ */
+public class Base64ContentDeserializer extends StdDeserializer<Base64Content> {
+
+    // Same as the default app.pdf.load.file-threshold, above which PDFs are read from a file anyway.
+    static final int SPILL_THRESHOLD = 8 * 1024 * 1024;
+
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+    private static final String INVALID_CONTENT = "Invalid base64 PDF content";
+
+    // Accepts input with or without trailing padding, like Base64.getDecoder().
+    private static final Base64Variant VARIANT = Base64Variants.MIME_NO_LINEFEEDS
+            .withReadPadding(Base64Variant.PaddingReadBehaviour.PADDING_ALLOWED);
+
+    public Base64ContentDeserializer() {
+        super(Base64Content.class);
+    }
+
+    @Override
+    public Base64Content deserialize(JsonParser p, DeserializationContext ctxt) {
+        if (!p.hasToken(JsonToken.VALUE_STRING)) {
+            return (Base64Content) ctxt.handleUnexpectedToken(Base64Content.class, p);
+        }
+
+        TokenStreamLocation start = p.currentTokenLocation();
+        SpillingOutputStream out = new SpillingOutputStream();
+        Base64Content content;
+        try {
+            p.readBinaryValue(VARIANT, out);
+            content = out.finish();
+        } catch (StreamReadException e) {
+            // The parser position is undefined after a decoding error, so the request fails as a whole.
+            out.discard();
+            throw new InvalidBase64ContentException(INVALID_CONTENT, e);
+        } catch (IOException e) {
+            out.discard();
+            throw JacksonIOException.construct(e, p);
+        } catch (RuntimeException e) {
+            out.discard();
+            throw e;
+        }
+
+        try {
+            if (!isPlainBase64(content, textLength(start, p.currentLocation()))) {
+                throw new InvalidBase64ContentException(INVALID_CONTENT);
+            }
+        } catch (IOException e) {
+            content.close();
+            throw JacksonIOException.construct(e, p);
+        } catch (RuntimeException e) {
+            content.close();
+            throw e;
+        }
+        return content;
+    }
+
+    /**
+     * Number of characters between the quotes of the string token, or -1 if the parser does
+     * not track offsets.
+     */
+    private static long textLength(TokenStreamLocation start, TokenStreamLocation end) {
+        if (start.getByteOffset() >= 0 && end.getByteOffset() >= 0) {
+            return end.getByteOffset() - start.getByteOffset() - 2;
+        }
+        if (start.getCharOffset() >= 0 && end.getCharOffset() >= 0) {
+            return end.getCharOffset() - start.getCharOffset() - 2;
+        }
+        return -1;
+    }
+
+    /**
+     * Whether the string token held exactly the base64 encoding of {@code content}.
+     * <p>
+     * The parser skips whitespace between 4-character units, which {@link java.util.Base64}
+     * rejects, so the token length is compared against the encoded length. The only longer
+     * form accepted is {@code "\/"}, which some JSON encoders write for every slash.
+     */
+    private static boolean isPlainBase64(Base64Content content, long textLength) throws IOException {
+        if (textLength < 0) {
+            return true;
+        }
+        long size = content.size();
+        long padded = (size + 2) / 3 * 4;
+        long unpadded = size / 3 * 4 + (size % 3 == 0 ? 0 : size % 3 + 1);
+        if (textLength == padded || textLength == unpadded) {
+            return true;
+        }
+        long slashes = countSlashes(content);
+        return textLength == padded + slashes || textLength == unpadded + slashes;
+    }
+
+    /**
+     * Counts the {@code '/'} characters in the base64 encoding of {@code content}.
+     */
+    private static long countSlashes(Base64Content content) throws IOException {
+        long count = 0;
+        int position = 0;
+        int previous = 0;
+        try (InputStream in = content.isFileBacked()
+                ? new BufferedInputStream(Files.newInputStream(content.getFile()), FILE_BUFFER_SIZE)
+                : new ByteArrayInputStream(content.toByteArray())) {
+            int b;
+            while ((b = in.read()) >= 0) {
+                switch (position) {
+                    case 0 -> count += (b >> 2) == 63 ? 1 : 0;
+                    case 1 -> count += (((previous & 0x03) << 4) | (b >> 4)) == 63 ? 1 : 0;
+                    default -> count += ((((previous & 0x0F) << 2) | (b >> 6)) == 63 ? 1 : 0)
+                            + ((b & 0x3F) == 63 ? 1 : 0);
+                }
+                previous = b;
+                position = (position + 1) % 3;
+            }
+        }
+        // A trailing partial unit never encodes to '/', as its low bits are zero.
+        return count;
+    }
+
+    /**
+     * Buffers in memory until the spill threshold, then moves everything to a temporary file.
+     */
+    private static final class SpillingOutputStream extends OutputStream {
+
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        private Path file;
+        private OutputStream fileOut;
+        private long size;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (fileOut == null && size + len > SPILL_THRESHOLD) {
+                spill();
+            }
+            if (fileOut != null) {
+                fileOut.write(b, off, len);
+            } else {
+                memory.write(b, off, len);
+            }
+            size += len;
+        }
+
+        private void spill() throws IOException {
+            file = Files.createTempFile("esign-content-", ".bin");
+            fileOut = new BufferedOutputStream(Files.newOutputStream(file), FILE_BUFFER_SIZE);
+            memory.writeTo(fileOut);
+            memory = null;
+        }
+
+        Base64Content finish() throws IOException {
+            if (fileOut == null) {
+                return Base64Content.of(memory.toByteArray());
+            }
+            fileOut.close();
+            Base64Content content = Base64Content.ofTempFile(file, size);
+            RequestAttributes request = RequestContextHolder.getRequestAttributes();
+            if (request != null) {
+                request.registerDestructionCallback(Base64Content.class.getName() + ":" + file,
+                        content::close, RequestAttributes.SCOPE_REQUEST);
+            }
+            return content;
+        }
+
+        void discard() {
+            if (fileOut == null) {
+                return;
+            }
+            try {
+                fileOut.close();
+            } catch (IOException ignored) {
+                // The file is removed below either way.
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Best effort; temporary files are also cleared by the OS.
+            }
+        }
+    }
+}
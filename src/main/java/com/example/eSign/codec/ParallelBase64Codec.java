@@ -0,0 +1,241 @@
+package com.example.eSign.codec;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Base64 encoder / decoder for large files that splits the work across a fork-join pool.
+ * <p>
+ * The output size is known up front, so the input is cut into chunks whose encoded (or
+ * decoded) form starts at a fixed offset: multiples of 3 bytes when encoding and of 4
+ * characters when decoding, with padding only allowed in the last chunk. Each task reads its
+ * input region into its worker's buffer and writes the result at the matching output offset
+ * with positional channel I/O, so files larger than the heap are handled, no chunk ever waits
+ * on another, and no memory mappings are created (one per chunk would quickly run into the
+ * per-process mapping limit on large files).
+ * <p>
+ * Output is byte-for-byte identical to {@link Base64#getEncoder()} /
+ * {@link Base64#getDecoder()} over the whole file.
+ */
+public final class ParallelBase64Codec implements Closeable {
+
+    // Input chunk sizes: 3 MiB of binary encodes to 4 MiB of text and vice versa.
+    private static final int ENCODE_CHUNK = 3 * 1024 * 1024;
+    private static final int DECODE_CHUNK = 4 * 1024 * 1024;
+
+    private final ForkJoinPool pool;
+    // Per-worker input and output buffers, reused across chunks.
+    private final ThreadLocal<byte[]> encodeInput = ThreadLocal.withInitial(() -> new byte[ENCODE_CHUNK]);
+    private final ThreadLocal<byte[]> decodeInput = ThreadLocal.withInitial(() -> new byte[DECODE_CHUNK]);
+    private final ThreadLocal<byte[]> chunkOutput = ThreadLocal.withInitial(() -> new byte[DECODE_CHUNK]);
+
+    /**
+     * @param parallelism worker threads; 0 or less uses one per available core
+     */
+    public ParallelBase64Codec(int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("esign-base64-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Base64-encodes {@code input} into {@code output}, replacing any existing file.
+     *
+     * @return number of bytes written
+     */
+    public long encode(Path input, Path output) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            long inputSize = in.size();
+            long outputSize = 4 * ((inputSize + 2) / 3);
+
+            try (FileChannel out = openOutput(output, outputSize)) {
+                int chunks = (int) ((inputSize + ENCODE_CHUNK - 1) / ENCODE_CHUNK);
+                run(chunks, index -> {
+                    long inOffset = (long) index * ENCODE_CHUNK;
+                    int length = (int) Math.min(ENCODE_CHUNK, inputSize - inOffset);
+                    long outOffset = inOffset / 3 * 4;
+
+                    byte[] source = read(in, inOffset, length, encodeInput.get());
+                    byte[] target = chunkOutput.get();
+                    int written = Base64.getEncoder().encode(source, target);
+                    write(out, outOffset, target, written);
+                });
+            }
+            return outputSize;
+        }
+    }
+
+    /**
+     * Decodes base64 text in {@code input} into {@code output}, replacing any existing file.
+     *
+     * @return number of bytes written
+     * @throws IllegalArgumentException if the input is not valid base64
+     */
+    public long decode(Path input, Path output) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            long inputSize = in.size();
+            long outputSize = decodedSize(in, inputSize);
+
+            try (FileChannel out = openOutput(output, outputSize)) {
+                int chunks = (int) ((inputSize + DECODE_CHUNK - 1) / DECODE_CHUNK);
+                run(chunks, index -> {
+                    long inOffset = (long) index * DECODE_CHUNK;
+                    int length = (int) Math.min(DECODE_CHUNK, inputSize - inOffset);
+                    long outOffset = inOffset / 4 * 3;
+                    int expected = (int) Math.min((long) length / 4 * 3, outputSize - outOffset);
+                    boolean last = inOffset + length == inputSize;
+
+                    byte[] source = read(in, inOffset, length, decodeInput.get());
+                    byte[] target = chunkOutput.get();
+                    int decoded = Base64.getDecoder().decode(source, target);
+                    // Padding ends the data early; anywhere but the final chunk it is invalid.
+                    if (decoded != expected && !(last && decoded == outputSize - outOffset)) {
+                        throw new IllegalArgumentException("Unexpected padding in base64 input");
+                    }
+                    write(out, outOffset, target, decoded);
+                });
+            }
+            return outputSize;
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Size of the decoded output, from the input length and any trailing padding.
+     */
+    private static long decodedSize(FileChannel in, long inputSize) throws IOException {
+        long remainder = inputSize % 4;
+        if (remainder == 1) {
+            throw new IllegalArgumentException("Input byte array has wrong 4-byte ending unit");
+        }
+        if (remainder != 0) {
+            return inputSize / 4 * 3 + remainder - 1;
+        }
+        if (inputSize == 0) {
+            return 0;
+        }
+
+        ByteBuffer tail = ByteBuffer.allocate(2);
+        in.read(tail, inputSize - 2);
+        int padding = 0;
+        if (tail.get(1) == '=') {
+            padding++;
+            if (tail.get(0) == '=') {
+                padding++;
+            }
+        }
+        return inputSize / 4 * 3 - padding;
+    }
+
+    private static FileChannel openOutput(Path output, long size) throws IOException {
+        FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        if (size > 0) {
+            // Pre-size the file, so running out of space fails before any work is done.
+            channel.write(ByteBuffer.wrap(new byte[1]), size - 1);
+        }
+        return channel;
+    }
+
+    /**
+     * Reads an input region into the worker's buffer with positional reads, which are safe
+     * to issue concurrently on one channel. Only the final, shorter chunk needs an exactly
+     * sized array, since the JDK codec works on whole arrays.
+     */
+    private static byte[] read(FileChannel channel, long offset, int length, byte[] buffer) throws IOException {
+        byte[] target = length == buffer.length ? buffer : new byte[length];
+        ByteBuffer view = ByteBuffer.wrap(target, 0, length);
+        while (view.hasRemaining()) {
+            if (channel.read(view, offset + view.position()) < 0) {
+                throw new EOFException("Input file shrank while being processed");
+            }
+        }
+        return target;
+    }
+
+    private static void write(FileChannel channel, long offset, byte[] data, int length) throws IOException {
+        ByteBuffer view = ByteBuffer.wrap(data, 0, length);
+        while (view.hasRemaining()) {
+            channel.write(view, offset + view.position());
+        }
+    }
+
+    /**
+     * Runs every chunk and rethrows the first failure only once all tasks have stopped, so
+     * no worker is still writing when the caller cleans up the output file.
+     */
+    private void run(int chunks, ChunkTask task) throws IOException {
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        pool.invoke(new ChunkRange(0, chunks, task, failure));
+
+        Exception error = failure.get();
+        if (error instanceof IOException io) {
+            throw io;
+        }
+        if (error instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask {
+        void process(int index) throws IOException;
+    }
+
+    /**
+     * Splits a range of chunk indexes in half until single chunks remain. Failures are
+     * recorded rather than thrown, and remaining chunks are skipped once one has failed.
+     */
+    private static final class ChunkRange extends RecursiveAction {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final transient ChunkTask task;
+        private final AtomicReference<Exception> failure;
+
+        ChunkRange(int from, int to, ChunkTask task, AtomicReference<Exception> failure) {
+            this.from = from;
+            this.to = to;
+            this.task = task;
+            this.failure = failure;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ChunkRange(from, middle, task, failure), new ChunkRange(middle, to, task, failure));
+                return;
+            }
+            if (from < to && failure.get() == null) {
+                try {
+                    task.process(from);
+                } catch (IOException | RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        }
+    }
+}
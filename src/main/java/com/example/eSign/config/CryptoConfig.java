@@ -0,0 +1,25 @@
+package com.example.eSign.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.springframework.context.annotation.Configuration;
+
+import java.security.Security;
+
+@Slf4j
+@Configuration
+public class CryptoConfig {
+
+    /**
+     * Registers the Bouncy Castle provider used by the CMS verifiers ("BC"), which covers
+     * RSA, ECDSA and EdDSA signer certificates.
+     */
+    @PostConstruct
+    public void registerProviders() {
+        if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
+            Security.addProvider(new BouncyCastleProvider());
+            log.info("Registered Bouncy Castle security provider");
+        }
+    }
+}
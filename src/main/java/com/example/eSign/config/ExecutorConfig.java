@@ -0,0 +1,82 @@
+package com.example.eSign.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${app.signing.executor.threads:0}")
+    private int signingThreads;
+
+    @Value("${app.signing.executor.queue-capacity:500}")
+    private int signingQueueCapacity;
+
+    @Value("${app.verification.executor.threads:0}")
+    private int verificationThreads;
+
+    @Value("${app.verification.executor.queue-capacity:1000}")
+    private int verificationQueueCapacity;
+
+    @Value("${app.file.executor.threads:0}")
+    private int fileThreads;
+
+    @Value("${app.file.executor.queue-capacity:100}")
+    private int fileQueueCapacity;
+
+    /**
+     * Bounded pool for CPU-heavy signing work. Defaults to one thread per available core;
+     * once the queue is full further submissions are rejected rather than queued indefinitely.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor signingExecutor() {
+        int threads = signingThreads > 0 ? signingThreads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(signingQueueCapacity);
+        executor.setThreadNamePrefix("esign-sign-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Node-wide pool for per-signature verification work, kept separate from signing so a
+     * burst of large multi-signature documents cannot starve signing requests.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor verificationExecutor() {
+        int threads = verificationThreads > 0 ? verificationThreads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(verificationQueueCapacity);
+        executor.setThreadNamePrefix("esign-verify-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool for bulk file operations. Work is mostly disk-bound, so it is kept apart from the
+     * CPU-heavy signing and verification pools.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor fileExecutor() {
+        int threads = fileThreads > 0 ? fileThreads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(fileQueueCapacity);
+        executor.setThreadNamePrefix("esign-file-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
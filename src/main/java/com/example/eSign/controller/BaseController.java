@@ -1,15 +1,23 @@
 package com.example.eSign.controller;
 
 import com.example.eSign.dto.*;
+import com.example.eSign.service.BulkFileOperationService;
 import com.example.eSign.service.FileOperationService;
 import com.example.eSign.service.ApiCounterStatusService;
 import com.example.eSign.util.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Slf4j
 @RestController
@@ -19,6 +27,8 @@ public class BaseController {
 
     private final ApiCounterStatusService apiCounterStatusService;
     private final FileOperationService fileOperationService;
+    private final BulkFileOperationService bulkFileOperationService;
+    private final JsonMapper jsonMapper;
 
     @GetMapping("/api-counter")
     public ResponseEntity<ApiResponse<ApiCounterStatusResponse>> apiCounter() {
@@ -99,4 +109,69 @@ public class BaseController {
             return ResponseEntity.status(statusCode).body(response);
         }
     }
+
+    /**
+     * Encodes every file in a directory matching a glob, streaming one JSON line per file
+     * followed by a summary line ({@code application/x-ndjson}).
+     * <p>
+     * Repeating an interrupted request resumes it: files completed by the earlier run are skipped.
+     */
+    @PostMapping(value = "/encode/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> encodeDirectory(
+            @RequestBody ApiRequest<BulkFileOperationRequest> request) {
+        return bulkOperation(request.getData(), false);
+    }
+
+    /**
+     * Decodes every base64 file in a directory matching a glob, streaming one JSON line per
+     * file followed by a summary line ({@code application/x-ndjson}).
+     */
+    @PostMapping(value = "/decode/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> decodeDirectory(
+            @RequestBody ApiRequest<BulkFileOperationRequest> request) {
+        return bulkOperation(request.getData(), true);
+    }
+
+    private ResponseEntity<StreamingResponseBody> bulkOperation(BulkFileOperationRequest bulkRequest, boolean decode) {
+        try {
+            bulkFileOperationService.validate(bulkRequest);
+        } catch (IllegalArgumentException e) {
+            ApiResponse<BulkFileOperationEvent> response = new ApiResponse<>(
+                    Constants.STATUS_ERROR,
+                    null,
+                    Collections.singletonList(e.getMessage()));
+            return ResponseEntity.status(Constants.HTTP_STATUS_BAD_REQUEST)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> jsonMapper.writeValue(out, response));
+        }
+
+        StreamingResponseBody body = out -> {
+            Consumer<BulkFileOperationEvent> events = event -> {
+                try {
+                    out.write(jsonMapper.writeValueAsBytes(event));
+                    out.write('\n');
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            try {
+                if (decode) {
+                    bulkFileOperationService.decodeDirectory(bulkRequest, events);
+                } else {
+                    bulkFileOperationService.encodeDirectory(bulkRequest, events);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("Bulk {} failed", decode ? "decode" : "encode", e);
+                BulkFileOperationEvent summary = new BulkFileOperationEvent();
+                summary.setType(BulkFileOperationEvent.TYPE_SUMMARY);
+                summary.setSuccess(false);
+                summary.setError(e.getMessage());
+                events.accept(summary);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 }
@@ -2,14 +2,25 @@ package com.example.eSign.controller;
 
 import com.example.eSign.dto.ApiRequest;
 import com.example.eSign.dto.ApiResponse;
+import com.example.eSign.dto.PdfHashPrepareResponse;
+import com.example.eSign.dto.PdfHashSignRequest;
+import com.example.eSign.dto.PdfHashSignResponse;
 import com.example.eSign.dto.PdfSignBase64Request;
+import com.example.eSign.dto.PdfSignBatchRequest;
+import com.example.eSign.dto.PdfSignBatchResponse;
 import com.example.eSign.dto.PdfSignResponse;
+import com.example.eSign.dto.PdfSignedContent;
 import com.example.eSign.dto.PdfSignatureListResponse;
 import com.example.eSign.dto.SignerInfoResponse;
 import com.example.eSign.service.PdfSigningService;
 import com.example.eSign.util.Constants;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -17,8 +28,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.List;
 
@@ -29,22 +42,29 @@ import java.util.List;
 public class SignPdfController {
 
     private final PdfSigningService pdfSigningService;
+    private final JsonMapper jsonMapper;
 
+    /**
+     * Signs a base64-encoded PDF.
+     * <p>
+     * The response has the shape of {@link PdfSignResponse}, but the signed bytes are only
+     * base64-encoded as the JSON is written to the response stream.
+     */
     @PostMapping("/sign-pdf/base64")
-    public ResponseEntity<ApiResponse<PdfSignResponse>> signPdfBase64(
+    public ResponseEntity<ApiResponse<PdfSignedContent>> signPdfBase64(
             @RequestBody ApiRequest<PdfSignBase64Request> request) {
 
         try {
             PdfSignBase64Request data = request.getData();
-            PdfSignResponse payload = pdfSigningService.signPdfFromBase64(data);
-            ApiResponse<PdfSignResponse> response = new ApiResponse<>(
+            PdfSignedContent payload = pdfSigningService.signPdfContentFromBase64(data);
+            ApiResponse<PdfSignedContent> response = new ApiResponse<>(
                     Constants.STATUS_SUCCESS,
                     payload,
                     null);
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
             List<String> messages = Collections.singletonList(e.getMessage());
-            ApiResponse<PdfSignResponse> response = new ApiResponse<>(
+            ApiResponse<PdfSignedContent> response = new ApiResponse<>(
                     Constants.STATUS_ERROR,
                     null,
                     messages);
@@ -52,7 +72,120 @@ public class SignPdfController {
         } catch (IOException e) {
             log.error("Failed to sign PDF from base64", e);
             List<String> messages = Collections.singletonList("Failed to sign PDF: " + e.getMessage());
-            ApiResponse<PdfSignResponse> response = new ApiResponse<>(
+            ApiResponse<PdfSignedContent> response = new ApiResponse<>(
+                    Constants.STATUS_ERROR,
+                    null,
+                    messages);
+            return ResponseEntity.status(Constants.HTTP_STATUS_INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Signs a batch of base64-encoded PDFs concurrently.
+     * <p>
+     * Individual failures are reported per document; the response status is
+     * {@code PARTIAL_SUCCESS} when only some documents could be signed. If none could be
+     * signed the status is {@code ERROR} and the HTTP status 422, with the per-document
+     * errors still in the body.
+     */
+    @PostMapping("/sign-pdf/batch")
+    public ResponseEntity<ApiResponse<PdfSignBatchResponse>> signPdfBatch(
+            @RequestBody ApiRequest<PdfSignBatchRequest> request) {
+
+        try {
+            PdfSignBatchRequest data = request.getData();
+            PdfSignBatchResponse payload = pdfSigningService.signPdfBatchFromBase64(
+                    data != null ? data.getDocuments() : null);
+
+            String status;
+            List<String> messages = null;
+            if (payload.getFailed() == 0) {
+                status = Constants.STATUS_SUCCESS;
+            } else if (payload.getSucceeded() == 0) {
+                messages = Collections.singletonList("No documents could be signed");
+                return ResponseEntity.status(Constants.HTTP_STATUS_UNPROCESSABLE_ENTITY)
+                        .body(new ApiResponse<>(Constants.STATUS_ERROR, payload, messages));
+            } else {
+                status = Constants.STATUS_PARTIAL_SUCCESS;
+                messages = Collections.singletonList(payload.getFailed() + " of " + payload.getTotal()
+                        + " documents failed to sign");
+            }
+
+            ApiResponse<PdfSignBatchResponse> response = new ApiResponse<>(
+                    status,
+                    payload,
+                    messages);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            List<String> messages = Collections.singletonList(e.getMessage());
+            ApiResponse<PdfSignBatchResponse> response = new ApiResponse<>(
+                    Constants.STATUS_ERROR,
+                    null,
+                    messages);
+            return ResponseEntity.status(Constants.HTTP_STATUS_BAD_REQUEST).body(response);
+        }
+    }
+
+    /**
+     * Prepares a base64-encoded PDF for hash-only signing.
+     * <p>
+     * Returns the PDF with an empty signature placeholder, the byte range to digest and
+     * the digest itself, which can then be passed to {@code /sign-pdf/hash}.
+     */
+    @PostMapping("/sign-pdf/hash/prepare")
+    public ResponseEntity<ApiResponse<PdfHashPrepareResponse>> prepareHashSigning(
+            @RequestBody ApiRequest<PdfSignBase64Request> request) {
+
+        try {
+            PdfHashPrepareResponse payload = pdfSigningService.prepareHashSigning(request.getData());
+            ApiResponse<PdfHashPrepareResponse> response = new ApiResponse<>(
+                    Constants.STATUS_SUCCESS,
+                    payload,
+                    null);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            List<String> messages = Collections.singletonList(e.getMessage());
+            ApiResponse<PdfHashPrepareResponse> response = new ApiResponse<>(
+                    Constants.STATUS_ERROR,
+                    null,
+                    messages);
+            return ResponseEntity.status(Constants.HTTP_STATUS_BAD_REQUEST).body(response);
+        } catch (IOException e) {
+            log.error("Failed to prepare PDF for hash-only signing", e);
+            List<String> messages = Collections.singletonList("Failed to prepare PDF: " + e.getMessage());
+            ApiResponse<PdfHashPrepareResponse> response = new ApiResponse<>(
+                    Constants.STATUS_ERROR,
+                    null,
+                    messages);
+            return ResponseEntity.status(Constants.HTTP_STATUS_INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Signs a client-computed digest of a prepared PDF and returns the detached CMS signature.
+     */
+    @PostMapping("/sign-pdf/hash")
+    public ResponseEntity<ApiResponse<PdfHashSignResponse>> signHash(
+            @RequestBody ApiRequest<PdfHashSignRequest> request) {
+
+        try {
+            PdfHashSignResponse payload = pdfSigningService.signHash(request.getData());
+            ApiResponse<PdfHashSignResponse> response = new ApiResponse<>(
+                    Constants.STATUS_SUCCESS,
+                    payload,
+                    null);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            List<String> messages = Collections.singletonList(e.getMessage());
+            ApiResponse<PdfHashSignResponse> response = new ApiResponse<>(
+                    Constants.STATUS_ERROR,
+                    null,
+                    messages);
+            return ResponseEntity.status(Constants.HTTP_STATUS_BAD_REQUEST).body(response);
+        } catch (IOException e) {
+            log.error("Failed to sign digest", e);
+            List<String> messages = Collections.singletonList("Failed to sign digest: " + e.getMessage());
+            ApiResponse<PdfHashSignResponse> response = new ApiResponse<>(
                     Constants.STATUS_ERROR,
                     null,
                     messages);
@@ -64,9 +197,38 @@ public class SignPdfController {
     public ResponseEntity<ApiResponse<PdfSignatureListResponse>> getSignaturesFromBase64(
             @RequestBody ApiRequest<PdfSignBase64Request> request) {
 
+        return listSignatures(() -> pdfSigningService.getSignaturesFromBase64(request.getData()), "base64 PDF");
+    }
+
+    /**
+     * Lists signatures on a PDF uploaded as a multipart file.
+     */
+    @PostMapping(value = "/signatures/file", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<PdfSignatureListResponse>> getSignaturesFromFile(
+            @RequestParam("file") MultipartFile file) {
+
+        return listSignatures(() -> pdfSigningService.getSignaturesFromFile(file), "uploaded PDF file");
+    }
+
+    /**
+     * Lists signatures on a PDF sent as a raw {@code application/pdf} request body.
+     * <p>
+     * The body is streamed to the document loader as it arrives, without base64 encoding.
+     */
+    @PostMapping(value = "/signatures/file", consumes = MediaType.APPLICATION_PDF_VALUE)
+    public ResponseEntity<ApiResponse<PdfSignatureListResponse>> getSignaturesFromBody(
+            HttpServletRequest request) {
+
+        return listSignatures(
+                () -> pdfSigningService.getSignatures(request.getInputStream(), request.getContentLengthLong()),
+                "PDF request body");
+    }
+
+    private ResponseEntity<ApiResponse<PdfSignatureListResponse>> listSignatures(
+            SignatureListing listing, String source) {
+
         try {
-            PdfSignBase64Request data = request.getData();
-            PdfSignatureListResponse payload = pdfSigningService.getSignaturesFromBase64(data);
+            PdfSignatureListResponse payload = listing.list();
 
             // If there are no signatures, treat as error with message from payload
             if (payload.getSignatures() == null || payload.getSignatures().isEmpty()) {
@@ -90,7 +252,7 @@ public class SignPdfController {
                     messages);
             return ResponseEntity.status(Constants.HTTP_STATUS_BAD_REQUEST).body(response);
         } catch (IOException e) {
-            log.error("Failed to extract signatures from base64 PDF", e);
+            log.error("Failed to extract signatures from {}", source, e);
             List<String> messages = Collections.singletonList("Failed to extract signatures: " + e.getMessage());
             ApiResponse<PdfSignatureListResponse> response = new ApiResponse<>(
                     Constants.STATUS_ERROR,
@@ -100,20 +262,26 @@ public class SignPdfController {
         }
     }
 
+    @FunctionalInterface
+    private interface SignatureListing {
+        PdfSignatureListResponse list() throws IOException;
+    }
+
     @PostMapping("/sign-pdf/file")
-    public ResponseEntity<ApiResponse<PdfSignResponse>> signPdfFile(
-            @RequestParam("file") MultipartFile file) {
+    public ResponseEntity<ApiResponse<PdfSignedContent>> signPdfFile(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "alias", required = false) String alias) {
 
         try {
-            PdfSignResponse payload = pdfSigningService.signPdfFile(file);
-            ApiResponse<PdfSignResponse> response = new ApiResponse<>(
+            PdfSignedContent payload = pdfSigningService.signPdfFile(file, alias);
+            ApiResponse<PdfSignedContent> response = new ApiResponse<>(
                     Constants.STATUS_SUCCESS,
                     payload,
                     null);
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
             List<String> messages = Collections.singletonList(e.getMessage());
-            ApiResponse<PdfSignResponse> response = new ApiResponse<>(
+            ApiResponse<PdfSignedContent> response = new ApiResponse<>(
                     Constants.STATUS_ERROR,
                     null,
                     messages);
@@ -121,7 +289,7 @@ public class SignPdfController {
         } catch (IOException e) {
             log.error("Failed to sign uploaded PDF file", e);
             List<String> messages = Collections.singletonList("Failed to sign PDF: " + e.getMessage());
-            ApiResponse<PdfSignResponse> response = new ApiResponse<>(
+            ApiResponse<PdfSignedContent> response = new ApiResponse<>(
                     Constants.STATUS_ERROR,
                     null,
                     messages);
@@ -129,6 +297,48 @@ public class SignPdfController {
         }
     }
 
+    /**
+     * Signs an uploaded PDF and streams the signed document back as {@code application/pdf}.
+     * <p>
+     * Selected when the client sends {@code Accept: application/pdf}; the signed bytes are
+     * written straight to the servlet output stream instead of a base64 JSON envelope.
+     * The download headers are only set once signing has succeeded; failures are returned
+     * as the usual JSON {@link ApiResponse} error envelope.
+     */
+    @PostMapping(value = "/sign-pdf/file", produces = MediaType.APPLICATION_PDF_VALUE)
+    public void signPdfFileBinary(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "alias", required = false) String alias,
+            HttpServletResponse response) throws IOException {
+
+        try {
+            String fileName = pdfSigningService.getSignedFileName(file);
+            pdfSigningService.signPdfFile(file, new PdfDownloadStream(response, fileName), alias);
+        } catch (IllegalArgumentException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            writeError(response, Constants.HTTP_STATUS_BAD_REQUEST, e.getMessage());
+        } catch (IOException e) {
+            log.error("Failed to sign uploaded PDF file", e);
+            if (response.isCommitted()) {
+                throw e;
+            }
+            writeError(response, Constants.HTTP_STATUS_INTERNAL_SERVER_ERROR, "Failed to sign PDF: " + e.getMessage());
+        }
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.reset();
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ApiResponse<Void> body = new ApiResponse<>(
+                Constants.STATUS_ERROR,
+                null,
+                Collections.singletonList(message));
+        jsonMapper.writeValue(response.getOutputStream(), body);
+    }
+
     /**
      * Returns signer details for a certificate stored in the keystore.
      * <p>
@@ -156,4 +366,53 @@ public class SignPdfController {
         }
     }
 
+    /**
+     * Servlet output stream that sets the PDF download headers just before the first byte is
+     * written, so a request that fails before any output can still be answered with JSON.
+     */
+    private static final class PdfDownloadStream extends OutputStream {
+
+        private final HttpServletResponse response;
+        private final String fileName;
+        private OutputStream out;
+
+        PdfDownloadStream(HttpServletResponse response, String fileName) {
+            this.response = response;
+            this.fileName = fileName;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            open().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            open().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (out != null) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        private OutputStream open() throws IOException {
+            if (out == null) {
+                response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName)
+                        .build()
+                        .toString());
+                out = response.getOutputStream();
+            }
+            return out;
+        }
+    }
 }
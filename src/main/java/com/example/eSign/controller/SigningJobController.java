@@ -0,0 +1,84 @@
+package com.example.eSign.controller;
+
+import com.example.eSign.dto.ApiRequest;
+import com.example.eSign.dto.ApiResponse;
+import com.example.eSign.dto.SigningJobRequest;
+import com.example.eSign.dto.SigningJobResponse;
+import com.example.eSign.exception.ResourceNotFoundException;
+import com.example.eSign.service.SigningJobService;
+import com.example.eSign.util.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/esign/jobs")
+@RequiredArgsConstructor
+public class SigningJobController {
+
+    private final SigningJobService signingJobService;
+
+    /**
+     * Queues a base64-encoded PDF for asynchronous signing and returns the job id.
+     */
+    @PostMapping("/sign-pdf/base64")
+    public ResponseEntity<ApiResponse<SigningJobResponse>> submitSigningJob(
+            @RequestBody ApiRequest<SigningJobRequest> request) {
+
+        try {
+            SigningJobResponse payload = signingJobService.submit(request.getData());
+            ApiResponse<SigningJobResponse> response = new ApiResponse<>(
+                    Constants.STATUS_SUCCESS,
+                    payload,
+                    null);
+            return ResponseEntity.status(Constants.HTTP_STATUS_ACCEPTED).body(response);
+        } catch (IllegalArgumentException e) {
+            List<String> messages = Collections.singletonList(e.getMessage());
+            ApiResponse<SigningJobResponse> response = new ApiResponse<>(
+                    Constants.STATUS_ERROR,
+                    null,
+                    messages);
+            return ResponseEntity.status(Constants.HTTP_STATUS_BAD_REQUEST).body(response);
+        } catch (Exception e) {
+            log.error("Failed to submit signing job", e);
+            List<String> messages = Collections.singletonList("Failed to submit signing job: " + e.getMessage());
+            ApiResponse<SigningJobResponse> response = new ApiResponse<>(
+                    Constants.STATUS_ERROR,
+                    null,
+                    messages);
+            return ResponseEntity.status(Constants.HTTP_STATUS_INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Returns the state of a signing job, including the signed PDF once it has completed.
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<SigningJobResponse>> getSigningJob(@PathVariable("jobId") String jobId) {
+        try {
+            SigningJobResponse payload = signingJobService.getJob(jobId);
+            ApiResponse<SigningJobResponse> response = new ApiResponse<>(
+                    Constants.STATUS_SUCCESS,
+                    payload,
+                    null);
+            return ResponseEntity.ok(response);
+        } catch (ResourceNotFoundException e) {
+            List<String> messages = Collections.singletonList(e.getMessage());
+            ApiResponse<SigningJobResponse> response = new ApiResponse<>(
+                    Constants.STATUS_ERROR,
+                    null,
+                    messages);
+            return ResponseEntity.status(Constants.HTTP_STATUS_NOT_FOUND).body(response);
+        }
+    }
+}
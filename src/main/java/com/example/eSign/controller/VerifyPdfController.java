@@ -6,13 +6,17 @@ import com.example.eSign.dto.PdfSignBase64Request;
 import com.example.eSign.dto.PdfVerificationResult;
 import com.example.eSign.service.PdfVerificationService;
 import com.example.eSign.util.Constants;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -33,9 +37,35 @@ public class VerifyPdfController {
     public ResponseEntity<ApiResponse<PdfVerificationResult>> verifyPdfBase64(
             @RequestBody ApiRequest<PdfSignBase64Request> request) {
 
+        return verify(() -> pdfVerificationService.verifyPdfFromBase64(request.getData()), "base64 PDF");
+    }
+
+    /**
+     * Verifies digital signatures present on a PDF uploaded as a multipart file.
+     */
+    @PostMapping(value = "/file", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<PdfVerificationResult>> verifyPdfFile(
+            @RequestParam("file") MultipartFile file) {
+
+        return verify(() -> pdfVerificationService.verifyPdfFile(file), "uploaded PDF file");
+    }
+
+    /**
+     * Verifies digital signatures present on a PDF sent as a raw {@code application/pdf}
+     * request body.
+     * <p>
+     * The body is streamed to the document loader as it arrives, without base64 encoding.
+     */
+    @PostMapping(value = "/file", consumes = MediaType.APPLICATION_PDF_VALUE)
+    public ResponseEntity<ApiResponse<PdfVerificationResult>> verifyPdfBody(HttpServletRequest request) {
+        return verify(
+                () -> pdfVerificationService.verifyPdf(request.getInputStream(), request.getContentLengthLong()),
+                "PDF request body");
+    }
+
+    private ResponseEntity<ApiResponse<PdfVerificationResult>> verify(Verification verification, String source) {
         try {
-            PdfSignBase64Request data = request.getData();
-            PdfVerificationResult payload = pdfVerificationService.verifyPdfFromBase64(data);
+            PdfVerificationResult payload = verification.run();
             ApiResponse<PdfVerificationResult> response = new ApiResponse<>(
                     Constants.STATUS_SUCCESS,
                     payload,
@@ -49,7 +79,7 @@ public class VerifyPdfController {
                     messages);
             return ResponseEntity.status(Constants.HTTP_STATUS_BAD_REQUEST).body(response);
         } catch (IOException e) {
-            log.error("Failed to verify base64 PDF signatures", e);
+            log.error("Failed to verify {} signatures", source, e);
             List<String> messages = Collections.singletonList("Failed to verify PDF: " + e.getMessage());
             ApiResponse<PdfVerificationResult> response = new ApiResponse<>(
                     Constants.STATUS_ERROR,
@@ -57,7 +87,7 @@ public class VerifyPdfController {
                     messages);
             return ResponseEntity.status(Constants.HTTP_STATUS_INTERNAL_SERVER_ERROR).body(response);
         } catch (Exception e) {
-            log.error("Unexpected error while verifying base64 PDF signatures", e);
+            log.error("Unexpected error while verifying {} signatures", source, e);
             List<String> messages = Collections.singletonList("Unexpected error while verifying PDF: " + e.getMessage());
             ApiResponse<PdfVerificationResult> response = new ApiResponse<>(
                     Constants.STATUS_ERROR,
@@ -66,6 +96,9 @@ public class VerifyPdfController {
             return ResponseEntity.status(Constants.HTTP_STATUS_INTERNAL_SERVER_ERROR).body(response);
         }
     }
-}
-
 
+    @FunctionalInterface
+    private interface Verification {
+        PdfVerificationResult run() throws IOException;
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.eSign.crypto;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.DERSet;
+import org.bouncycastle.asn1.cms.Attribute;
+import org.bouncycastle.asn1.cms.AttributeTable;
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaCertStore;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateHolder;
+import org.bouncycastle.cms.CMSAbsentContent;
+import org.bouncycastle.cms.CMSException;
+import org.bouncycastle.cms.CMSSignedData;
+import org.bouncycastle.cms.CMSSignedDataGenerator;
+import org.bouncycastle.cms.SignerInfoGeneratorBuilder;
+import org.bouncycastle.cms.SignerInformation;
+import org.bouncycastle.cms.SignerInformationStore;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.DefaultDigestAlgorithmIdentifierFinder;
+import org.bouncycastle.operator.DigestCalculator;
+import org.bouncycastle.operator.DigestCalculatorProvider;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.tsp.TimeStampToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Pre-built CMS signing pipeline for a single private key and its certificate chain.
+ * <p>
+ * Everything that does not depend on the document being signed (encoded
+ * certificate store, message digest prototype and signer certificate holder) is
+ * created once. Each call to {@link #sign(InputStream)} only digests the content
+ * incrementally and performs the private-key operation, using a pooled
+ * {@link ContentSigner}. The CMS container is built from the precomputed digest,
+ * so memory use does not depend on the size of the signed content.
+ */
+@Slf4j
+public class CmsSignerEngine {
+
+    private static final int DIGEST_BUFFER_SIZE = 8192;
+    private static final String TIMESTAMP_DIGEST_ALGORITHM = "SHA-256";
+
+    private final String alias;
+    private final PrivateKey privateKey;
+    private final X509Certificate certificate;
+    private final List<X509Certificate> certificateChain;
+    private final SigningAlgorithm algorithm;
+    private final AlgorithmIdentifier digestAlgorithmIdentifier;
+    private final X509CertificateHolder certificateHolder;
+    private final JcaCertStore certStore;
+    private final JcaContentSignerBuilder contentSignerBuilder;
+    private final MessageDigest digestPrototype;
+    private final TimestampAuthorityClient timestampClient;
+
+    // ContentSigner instances wrap a stateful java.security.Signature, so they are
+    // handed out to one caller at a time and returned once a signature completes.
+    private final BlockingQueue<ContentSigner> contentSignerPool;
+
+    /**
+     * @param alias            keystore alias the key was loaded from
+     * @param privateKey       signing key
+     * @param certificateChain signer certificate first, followed by any issuing certificates
+     * @param timestampClient  timestamp authority used to stamp each signature, or {@code null} to disable
+     */
+    public CmsSignerEngine(String alias, PrivateKey privateKey, List<X509Certificate> certificateChain,
+                           TimestampAuthorityClient timestampClient)
+            throws CertificateEncodingException, NoSuchAlgorithmException {
+        this.alias = alias;
+        this.timestampClient = timestampClient;
+        this.privateKey = privateKey;
+        this.certificate = certificateChain.get(0);
+        this.certificateChain = List.copyOf(certificateChain);
+        this.certificateHolder = new JcaX509CertificateHolder(certificate);
+        this.certStore = new JcaCertStore(this.certificateChain);
+        this.algorithm = SigningAlgorithm.forKey(privateKey);
+        this.digestAlgorithmIdentifier = new DefaultDigestAlgorithmIdentifierFinder().find(algorithm.digestAlgorithm());
+        this.contentSignerBuilder = new JcaContentSignerBuilder(algorithm.signatureAlgorithm());
+        this.digestPrototype = MessageDigest.getInstance(algorithm.digestAlgorithm());
+        this.contentSignerPool = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+
+        log.info("CMS signer engine initialised for alias {} ({}) with subject: {}",
+                alias, algorithm.signatureAlgorithm(), certificate.getSubjectX500Principal().getName());
+    }
+
+    public String getAlias() {
+        return alias;
+    }
+
+    public X509Certificate getCertificate() {
+        return certificate;
+    }
+
+    public List<X509Certificate> getCertificateChain() {
+        return certificateChain;
+    }
+
+    public String getDigestAlgorithm() {
+        return algorithm.digestAlgorithm();
+    }
+
+    public String getSignatureAlgorithm() {
+        return algorithm.signatureAlgorithm();
+    }
+
+    public boolean isTimestampEnabled() {
+        return timestampClient != null;
+    }
+
+    /**
+     * Creates a detached CMS signature over the given content, hashing it incrementally.
+     *
+     * @param content stream of the bytes covered by the signature
+     * @return DER-encoded CMS SignedData
+     * @throws IOException if the content cannot be read or the signature cannot be produced
+     */
+    public byte[] sign(InputStream content) throws IOException {
+        MessageDigest digest = newMessageDigest();
+        byte[] buffer = new byte[DIGEST_BUFFER_SIZE];
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return signDigest(digest.digest());
+    }
+
+    /**
+     * Creates a detached CMS signature from a precomputed content digest.
+     * <p>
+     * The digest is placed in the messageDigest signed attribute; only the signed
+     * attributes are passed through the private-key operation. When a timestamp
+     * authority is configured, a signature timestamp token is attached as an
+     * unsigned attribute.
+     *
+     * @param contentDigest digest of the signed content, computed with {@link #getDigestAlgorithm()}
+     * @return DER-encoded CMS SignedData
+     * @throws IOException if the signature cannot be produced
+     */
+    public byte[] signDigest(byte[] contentDigest) throws IOException {
+        ContentSigner contentSigner = borrowContentSigner();
+        try {
+            CMSSignedDataGenerator generator = new CMSSignedDataGenerator();
+            generator.addSignerInfoGenerator(
+                    new SignerInfoGeneratorBuilder(
+                            new PrecomputedDigestCalculatorProvider(digestAlgorithmIdentifier, contentDigest))
+                            .build(contentSigner, certificateHolder));
+            generator.addCertificates(certStore);
+
+            CMSSignedData signedData = generator.generate(new CMSAbsentContent(), false);
+
+            // Only return the signer once it has completed cleanly; a signer that failed
+            // half-way may still hold buffered input and must not be reused. The timestamp
+            // round trip below does not need it, so release it before waiting on the TSA.
+            contentSignerPool.offer(contentSigner);
+
+            if (timestampClient != null) {
+                signedData = addSignatureTimestamp(signedData);
+            }
+            return signedData.getEncoded();
+        } catch (OperatorCreationException | CMSException e) {
+            throw new IOException("Failed to create CMS signature: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Attaches an RFC 3161 signature timestamp token (id-aa-signatureTimeStampToken)
+     * covering the signature value of the single signer.
+     */
+    private CMSSignedData addSignatureTimestamp(CMSSignedData signedData) throws IOException {
+        SignerInformation signer = signedData.getSignerInfos().getSigners().iterator().next();
+
+        byte[] imprint;
+        try {
+            imprint = MessageDigest.getInstance(TIMESTAMP_DIGEST_ALGORITHM).digest(signer.getSignature());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Digest algorithm not available: " + TIMESTAMP_DIGEST_ALGORITHM, e);
+        }
+        TimeStampToken token = timestampClient.timestamp(imprint, TIMESTAMP_DIGEST_ALGORITHM);
+
+        Attribute timestampAttribute = new Attribute(PKCSObjectIdentifiers.id_aa_signatureTimeStampToken,
+                new DERSet(ASN1Primitive.fromByteArray(token.getEncoded())));
+        AttributeTable unsignedAttributes = signer.getUnsignedAttributes();
+        ASN1EncodableVector attributes = unsignedAttributes != null
+                ? unsignedAttributes.toASN1EncodableVector()
+                : new ASN1EncodableVector();
+        attributes.add(timestampAttribute);
+
+        SignerInformation stamped = SignerInformation.replaceUnsignedAttributes(signer, new AttributeTable(attributes));
+        return CMSSignedData.replaceSigners(signedData, new SignerInformationStore(stamped));
+    }
+
+    private MessageDigest newMessageDigest() throws IOException {
+        try {
+            return (MessageDigest) digestPrototype.clone();
+        } catch (CloneNotSupportedException e) {
+            try {
+                return MessageDigest.getInstance(algorithm.digestAlgorithm());
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IOException("Digest algorithm not available: " + algorithm.digestAlgorithm(), ex);
+            }
+        }
+    }
+
+    private ContentSigner borrowContentSigner() throws IOException {
+        ContentSigner contentSigner = contentSignerPool.poll();
+        if (contentSigner != null) {
+            return contentSigner;
+        }
+        try {
+            return contentSignerBuilder.build(privateKey);
+        } catch (OperatorCreationException e) {
+            throw new IOException("Failed to create content signer: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Supplies a digest calculator that reports an already computed digest, so the
+     * CMS generator never has to see the signed content itself.
+     */
+    private static final class PrecomputedDigestCalculatorProvider implements DigestCalculatorProvider {
+
+        private final AlgorithmIdentifier digestAlgorithmIdentifier;
+        private final byte[] contentDigest;
+
+        private PrecomputedDigestCalculatorProvider(AlgorithmIdentifier digestAlgorithmIdentifier,
+                                                    byte[] contentDigest) {
+            this.digestAlgorithmIdentifier = digestAlgorithmIdentifier;
+            this.contentDigest = contentDigest;
+        }
+
+        @Override
+        public DigestCalculator get(AlgorithmIdentifier requestedAlgorithm) throws OperatorCreationException {
+            // The generator derives the digest from the signature algorithm; it must agree with
+            // the algorithm the content was hashed with or the signature would not verify.
+            if (!digestAlgorithmIdentifier.getAlgorithm().equals(requestedAlgorithm.getAlgorithm())) {
+                throw new OperatorCreationException("Precomputed digest algorithm "
+                        + digestAlgorithmIdentifier.getAlgorithm() + " does not match required "
+                        + requestedAlgorithm.getAlgorithm());
+            }
+
+            return new DigestCalculator() {
+                @Override
+                public AlgorithmIdentifier getAlgorithmIdentifier() {
+                    return requestedAlgorithm;
+                }
+
+                @Override
+                public OutputStream getOutputStream() {
+                    return OutputStream.nullOutputStream();
+                }
+
+                @Override
+                public byte[] getDigest() {
+                    return contentDigest.clone();
+                }
+            };
+        }
+    }
+}
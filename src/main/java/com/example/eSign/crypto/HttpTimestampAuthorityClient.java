@@ -0,0 +1,96 @@
+package com.example.eSign.crypto;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.operator.DefaultDigestAlgorithmIdentifierFinder;
+import org.bouncycastle.tsp.TSPException;
+import org.bouncycastle.tsp.TimeStampRequest;
+import org.bouncycastle.tsp.TimeStampRequestGenerator;
+import org.bouncycastle.tsp.TimeStampResponse;
+import org.bouncycastle.tsp.TimeStampToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * RFC 3161 client for a remote timestamp authority.
+ * <p>
+ * A single {@link HttpClient} is shared by all signing threads so connections to the TSA
+ * are kept alive and reused.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.timestamp.mode", havingValue = "http")
+public class HttpTimestampAuthorityClient implements TimestampAuthorityClient {
+
+    private static final String TIMESTAMP_QUERY_CONTENT_TYPE = "application/timestamp-query";
+
+    @Value("${app.timestamp.url}")
+    private String url;
+
+    @Value("${app.timestamp.timeout:5s}")
+    private Duration timeout;
+
+    private final SecureRandom random = new SecureRandom();
+    private HttpClient httpClient;
+
+    @PostConstruct
+    public void init() {
+        if (url == null || url.isBlank()) {
+            throw new IllegalArgumentException("app.timestamp.url is required when app.timestamp.mode is http");
+        }
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+        log.info("Timestamp authority client configured for {}", url);
+    }
+
+    @Override
+    public TimeStampToken timestamp(byte[] imprint, String digestAlgorithm) throws IOException {
+        TimeStampRequestGenerator requestGenerator = new TimeStampRequestGenerator();
+        requestGenerator.setCertReq(true);
+        TimeStampRequest request = requestGenerator.generate(
+                new DefaultDigestAlgorithmIdentifierFinder().find(digestAlgorithm).getAlgorithm(),
+                imprint,
+                new BigInteger(64, random));
+
+        HttpRequest httpRequest = HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("Content-Type", TIMESTAMP_QUERY_CONTENT_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(request.getEncoded()))
+                .build();
+
+        HttpResponse<byte[]> httpResponse;
+        try {
+            httpResponse = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for timestamp authority", e);
+        }
+
+        if (httpResponse.statusCode() != 200) {
+            throw new IOException("Timestamp authority returned HTTP " + httpResponse.statusCode());
+        }
+
+        try {
+            TimeStampResponse response = new TimeStampResponse(httpResponse.body());
+            response.validate(request);
+            TimeStampToken token = response.getTimeStampToken();
+            if (token == null) {
+                throw new IOException("Timestamp authority rejected request: " + response.getStatusString());
+            }
+            return token;
+        } catch (TSPException e) {
+            throw new IOException("Invalid timestamp response: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.eSign.crypto;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.cert.jcajce.JcaCertStore;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoGeneratorBuilder;
+import org.bouncycastle.operator.DefaultDigestAlgorithmIdentifierFinder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.bouncycastle.tsp.TSPException;
+import org.bouncycastle.tsp.TimeStampRequest;
+import org.bouncycastle.tsp.TimeStampRequestGenerator;
+import org.bouncycastle.tsp.TimeStampToken;
+import org.bouncycastle.tsp.TimeStampTokenGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in timestamp authority for tests and local runs.
+ * <p>
+ * Issues RFC 3161 tokens signed by a throwaway key and self-signed certificate created at
+ * startup, so timestamped signatures can be produced without any outside service. Tokens
+ * from this authority are not trusted by anyone else.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.timestamp.mode", havingValue = "local")
+public class LocalTimestampAuthorityClient implements TimestampAuthorityClient {
+
+    private static final ASN1ObjectIdentifier TEST_POLICY = new ASN1ObjectIdentifier("1.3.6.1.4.1.99999.1");
+
+    private final TimeStampTokenGenerator tokenGenerator;
+    private final AtomicLong serialNumber = new AtomicLong(System.currentTimeMillis());
+
+    public LocalTimestampAuthorityClient() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+
+        X500Name subject = new X500Name("CN=eSign Local Timestamp Authority");
+        Date notBefore = new Date();
+        Date notAfter = new Date(notBefore.getTime() + TimeUnit.DAYS.toMillis(365));
+        JcaX509v3CertificateBuilder certificateBuilder = new JcaX509v3CertificateBuilder(
+                subject, BigInteger.ONE, notBefore, notAfter, subject, keyPair.getPublic());
+        certificateBuilder.addExtension(Extension.extendedKeyUsage, true,
+                new ExtendedKeyUsage(KeyPurposeId.id_kp_timeStamping));
+        X509Certificate certificate = new JcaX509CertificateConverter().getCertificate(
+                certificateBuilder.build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate())));
+
+        tokenGenerator = new TimeStampTokenGenerator(
+                new JcaSimpleSignerInfoGeneratorBuilder().build("SHA256withRSA", keyPair.getPrivate(), certificate),
+                new JcaDigestCalculatorProviderBuilder().build()
+                        .get(new DefaultDigestAlgorithmIdentifierFinder().find("SHA-256")),
+                TEST_POLICY);
+        tokenGenerator.addCertificates(new JcaCertStore(Collections.singletonList(certificate)));
+
+        log.warn("Using local stand-in timestamp authority; timestamps will not be trusted externally");
+    }
+
+    @Override
+    public TimeStampToken timestamp(byte[] imprint, String digestAlgorithm) throws IOException {
+        TimeStampRequestGenerator requestGenerator = new TimeStampRequestGenerator();
+        requestGenerator.setCertReq(true);
+        TimeStampRequest request = requestGenerator.generate(
+                new DefaultDigestAlgorithmIdentifierFinder().find(digestAlgorithm).getAlgorithm(),
+                imprint);
+
+        try {
+            // The generator's signer info state is not thread-safe.
+            synchronized (tokenGenerator) {
+                return tokenGenerator.generate(request,
+                        BigInteger.valueOf(serialNumber.incrementAndGet()), new Date());
+            }
+        } catch (TSPException e) {
+            throw new IOException("Local timestamp authority failed: " + e.getMessage(), e);
+        }
+    }
+}
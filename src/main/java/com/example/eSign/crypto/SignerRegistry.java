@@ -0,0 +1,120 @@
+package com.example.eSign.crypto;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ready-to-use signing identities, one per private-key alias in the keystore.
+ * <p>
+ * Every key entry is loaded once at startup into a {@link CmsSignerEngine} holding the
+ * key, certificate chain, encoded certificate store and signer template, so choosing an
+ * alias per request never touches the keystore.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SignerRegistry {
+
+    private final KeyStore keyStore;
+    private final ObjectProvider<TimestampAuthorityClient> timestampAuthorityClient;
+
+    @Value("${app.keystore.alias}")
+    private String defaultAlias;
+
+    @Value("${app.keystore.key-password}")
+    private String keyPassword;
+
+    private Map<String, CmsSignerEngine> engines = Collections.emptyMap();
+
+    @PostConstruct
+    public void loadSigners() {
+        Map<String, CmsSignerEngine> loaded = new LinkedHashMap<>();
+        try {
+            for (String alias : Collections.list(keyStore.aliases())) {
+                if (!keyStore.isKeyEntry(alias)) {
+                    continue;
+                }
+                try {
+                    loaded.put(alias, createEngine(alias));
+                } catch (Exception e) {
+                    // A single unusable entry must not prevent the other identities from loading.
+                    log.warn("Skipping keystore alias {}: {}", alias, e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to enumerate keystore aliases", e);
+            throw new RuntimeException("Failed to load signing identities", e);
+        }
+
+        if (!loaded.containsKey(defaultAlias)) {
+            throw new RuntimeException("Private key not found for default alias: " + defaultAlias);
+        }
+
+        engines = Collections.unmodifiableMap(loaded);
+        log.info("Loaded {} signing identities: {}", engines.size(), engines.keySet());
+    }
+
+    /**
+     * Returns the signing engine for {@code alias}, or for the configured default alias
+     * when {@code alias} is null or blank.
+     *
+     * @throws IllegalArgumentException if no signing identity exists for the alias
+     */
+    public CmsSignerEngine get(String alias) {
+        String effectiveAlias = resolveAlias(alias);
+        CmsSignerEngine engine = engines.get(effectiveAlias);
+        if (engine == null) {
+            throw new IllegalArgumentException("Unknown signing alias: " + effectiveAlias);
+        }
+        return engine;
+    }
+
+    public String resolveAlias(String alias) {
+        return (alias != null && !alias.isBlank()) ? alias : defaultAlias;
+    }
+
+    public Set<String> getAliases() {
+        return engines.keySet();
+    }
+
+    private CmsSignerEngine createEngine(String alias) throws Exception {
+        PrivateKey privateKey = (PrivateKey) keyStore.getKey(alias, keyPassword.toCharArray());
+        if (privateKey == null) {
+            throw new IllegalStateException("Private key not found for alias: " + alias);
+        }
+
+        Certificate[] chain = keyStore.getCertificateChain(alias);
+        if (chain == null || chain.length == 0) {
+            Certificate certificate = keyStore.getCertificate(alias);
+            chain = certificate != null ? new Certificate[]{certificate} : new Certificate[0];
+        }
+
+        List<X509Certificate> x509Chain = new ArrayList<>(chain.length);
+        for (Certificate certificate : chain) {
+            if (!(certificate instanceof X509Certificate x509Certificate)) {
+                throw new IllegalStateException("Certificate for alias is not an X509 certificate");
+            }
+            x509Chain.add(x509Certificate);
+        }
+        if (x509Chain.isEmpty()) {
+            throw new IllegalStateException("Certificate not found for alias: " + alias);
+        }
+
+        return new CmsSignerEngine(alias, privateKey, x509Chain, timestampAuthorityClient.getIfAvailable());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.eSign.crypto;
+
+import java.security.PrivateKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.EdECPrivateKey;
+import java.security.interfaces.RSAPrivateKey;
+
+/**
+ * Signature and digest algorithm pair used for a signing key.
+ *
+ * @param signatureAlgorithm JCA signature algorithm name (e.g. SHA256withECDSA)
+ * @param digestAlgorithm    JCA digest algorithm name for the messageDigest attribute (e.g. SHA-256)
+ */
+public record SigningAlgorithm(String signatureAlgorithm, String digestAlgorithm) {
+
+    /**
+     * Selects the algorithm from the key type.
+     * <p>
+     * RSA keys use SHA-256; EC keys use the SHA-2 digest matching the curve size; Ed25519
+     * uses SHA-512 for the signed attributes digest as required by RFC 8419.
+     *
+     * @throws IllegalArgumentException if the key type is not supported
+     */
+    public static SigningAlgorithm forKey(PrivateKey privateKey) {
+        if (privateKey instanceof RSAPrivateKey || "RSA".equalsIgnoreCase(privateKey.getAlgorithm())) {
+            return new SigningAlgorithm("SHA256withRSA", "SHA-256");
+        }
+
+        if (privateKey instanceof ECPrivateKey ecKey) {
+            int fieldSize = ecKey.getParams().getCurve().getField().getFieldSize();
+            if (fieldSize <= 256) {
+                return new SigningAlgorithm("SHA256withECDSA", "SHA-256");
+            }
+            if (fieldSize <= 384) {
+                return new SigningAlgorithm("SHA384withECDSA", "SHA-384");
+            }
+            return new SigningAlgorithm("SHA512withECDSA", "SHA-512");
+        }
+
+        String curve = privateKey instanceof EdECPrivateKey edKey
+                ? edKey.getParams().getName()
+                : privateKey.getAlgorithm();
+        if ("Ed25519".equalsIgnoreCase(curve)) {
+            return new SigningAlgorithm("Ed25519", "SHA-512");
+        }
+
+        throw new IllegalArgumentException("Unsupported signing key algorithm: " + curve);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.eSign.crypto;
+
+import org.bouncycastle.tsp.TimeStampToken;
+
+import java.io.IOException;
+
+/**
+ * Obtains RFC 3161 timestamp tokens for CMS signatures.
+ */
+public interface TimestampAuthorityClient {
+
+    /**
+     * Request a timestamp token over a message imprint.
+     *
+     * @param imprint         digest of the data to timestamp (for CMS, the signature value)
+     * @param digestAlgorithm JCA name of the algorithm used for {@code imprint} (e.g. SHA-256)
+     * @return timestamp token issued by the authority
+     * @throws IOException if the authority cannot be reached or returns an invalid response
+     */
+    TimeStampToken timestamp(byte[] imprint, String digestAlgorithm) throws IOException;
+}
@@ -0,0 +1,55 @@
+package com.example.eSign.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a bulk file operation report: a {@code FILE} event per processed file,
+ * followed by a single {@code SUMMARY} event. Fields that do not apply to an event are omitted.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkFileOperationEvent {
+
+    public static final String TYPE_FILE = "FILE";
+    public static final String TYPE_SUMMARY = "SUMMARY";
+
+    private String type;
+
+    /**
+     * Source and output file of a {@code FILE} event.
+     */
+    private String inputFile;
+    private String outputFile;
+
+    /**
+     * Whether the file (or, for the summary, every file) was processed successfully.
+     */
+    private Boolean success;
+    private String error;
+
+    /**
+     * Files finished so far, including ones skipped from the checkpoint, and files matched.
+     */
+    private Integer completed;
+    private Integer total;
+
+    /**
+     * Summary counts: files processed in this run, skipped because a previous run already
+     * completed them, and failed.
+     */
+    private Integer processed;
+    private Integer skipped;
+    private Integer failed;
+
+    private Long bytesRead;
+    private Long bytesWritten;
+    private Long durationMs;
+
+    /**
+     * Input throughput in MiB per second.
+     */
+    private Double throughputMbPerSecond;
+}
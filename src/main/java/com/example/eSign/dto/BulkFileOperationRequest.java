@@ -0,0 +1,26 @@
+package com.example.eSign.dto;
+
+import lombok.Data;
+
+@Data
+public class BulkFileOperationRequest {
+    /**
+     * Directory containing the files to process; subdirectories are not descended into.
+     */
+    private String sourceDirectory;
+
+    /**
+     * Glob selecting files in the source directory, e.g. {@code *.pdf}. Defaults to all files.
+     */
+    private String glob;
+
+    /**
+     * Directory the output files are written to; created if missing.
+     */
+    private String targetDirectory;
+
+    /**
+     * Ignore the checkpoint of a previous run and process every matching file again.
+     */
+    private boolean restart;
+}
@@ -13,6 +13,32 @@ public class FileOperationResponse {
     private String inputFile;
     private String outputFile;
     private String error;
-}
 
+    /**
+     * Bytes read from the input file.
+     */
+    private Long bytesRead;
+
+    /**
+     * Bytes written to the output file.
+     */
+    private Long bytesWritten;
+
+    /**
+     * Wall-clock time of the operation in milliseconds.
+     */
+    private Long durationMs;
 
+    /**
+     * Input throughput in MiB per second.
+     */
+    private Double throughputMbPerSecond;
+
+    public FileOperationResponse(Boolean success, String message, String inputFile, String outputFile, String error) {
+        this.success = success;
+        this.message = message;
+        this.inputFile = inputFile;
+        this.outputFile = outputFile;
+        this.error = error;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.eSign.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A PDF prepared for hash-only signing: the signature dictionary and an empty
+ * {@code /Contents} placeholder have been added, and the digest of the bytes the
+ * signature will cover has been computed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfHashPrepareResponse {
+
+    /**
+     * Base64-encoded PDF containing the empty signature placeholder.
+     */
+    private String preparedPdfBase64;
+
+    /**
+     * Signature byte range [offset1, length1, offset2, length2]. The hex-encoded CMS
+     * signature is written starting at {@code offset1 + length1 + 1}, just after the {@code <}.
+     */
+    private int[] byteRange;
+
+    /**
+     * Base64-encoded digest of the byte range, to be passed to the hash signing step.
+     */
+    private String digestBase64;
+
+    /**
+     * Digest algorithm used (e.g. SHA-256).
+     */
+    private String digestAlgorithm;
+
+    /**
+     * Suggested filename for the signed PDF.
+     */
+    private String fileName;
+}
@@ -0,0 +1,21 @@
+package com.example.eSign.dto;
+
+import lombok.Data;
+
+@Data
+public class PdfHashSignRequest {
+    /**
+     * Base64-encoded digest of the prepared PDF's signature byte range.
+     */
+    private String digestBase64;
+
+    /**
+     * Optional digest algorithm name; must match the signer's algorithm (e.g. SHA-256).
+     */
+    private String digestAlgorithm;
+
+    /**
+     * Optional keystore alias of the signing identity; the default alias is used when absent.
+     */
+    private String alias;
+}
@@ -0,0 +1,24 @@
+package com.example.eSign.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Detached CMS signature produced from a client-supplied digest.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfHashSignResponse {
+
+    /**
+     * Base64-encoded DER CMS SignedData, to be hex-encoded into the PDF's {@code /Contents} placeholder.
+     */
+    private String cmsSignatureBase64;
+
+    /**
+     * Digest algorithm the signature was created with.
+     */
+    private String digestAlgorithm;
+}
@@ -1,18 +1,24 @@
 package com.example.eSign.dto;
 
+import com.example.eSign.codec.Base64Content;
 import lombok.Data;
 
 @Data
 public class PdfSignBase64Request {
     /**
-     * Base64-encoded original PDF content.
+     * Original PDF content, sent as a base64 string and decoded while the JSON is parsed.
      */
-    private String pdfBase64;
+    private Base64Content pdfBase64;
 
     /**
      * Optional filename hint for response or logging.
      */
     private String fileName;
+
+    /**
+     * Optional keystore alias of the signing identity; the default alias is used when absent.
+     */
+    private String alias;
 }
 
 
@@ -0,0 +1,39 @@
+package com.example.eSign.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of signing a single document within a batch request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfSignBatchItemResult {
+
+    /**
+     * Position of the document in the submitted batch (zero-based).
+     */
+    private int index;
+
+    /**
+     * SUCCESS or ERROR for this document.
+     */
+    private String status;
+
+    /**
+     * Suggested filename for the signed PDF.
+     */
+    private String fileName;
+
+    /**
+     * Base64-encoded signed PDF content, present when signing succeeded.
+     */
+    private String signedPdfBase64;
+
+    /**
+     * Failure reason, present when signing failed.
+     */
+    private String error;
+}
@@ -0,0 +1,13 @@
+package com.example.eSign.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PdfSignBatchRequest {
+    /**
+     * Documents to sign, each in the same shape as a single base64 signing request.
+     */
+    private List<PdfSignBase64Request> documents;
+}
@@ -0,0 +1,36 @@
+package com.example.eSign.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a batch signing request, with one entry per submitted document in submission order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfSignBatchResponse {
+
+    /**
+     * Number of documents submitted.
+     */
+    private int total;
+
+    /**
+     * Number of documents signed successfully.
+     */
+    private int succeeded;
+
+    /**
+     * Number of documents that failed to sign.
+     */
+    private int failed;
+
+    /**
+     * Per-document results.
+     */
+    private List<PdfSignBatchItemResult> results;
+}
@@ -0,0 +1,27 @@
+package com.example.eSign.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Signed PDF in the same JSON shape as {@link PdfSignResponse}, holding the raw bytes.
+ * <p>
+ * Jackson writes a {@code byte[]} as a base64 string, encoding it in chunks straight into
+ * the response output, so the encoded form is never built up as a {@link String}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfSignedContent {
+    /**
+     * Signed PDF content, serialized as base64 under the same property name as
+     * {@link PdfSignResponse#getSignedPdfBase64()}.
+     */
+    private byte[] signedPdfBase64;
+
+    /**
+     * Suggested filename for the signed PDF.
+     */
+    private String fileName;
+}
@@ -0,0 +1,17 @@
+package com.example.eSign.dto;
+
+import lombok.Data;
+
+@Data
+public class SigningJobRequest {
+    /**
+     * Document to sign, in the same shape as a single base64 signing request.
+     */
+    private PdfSignBase64Request document;
+
+    /**
+     * Optional URL that receives a POST with the job status once the job finishes. Its scheme
+     * and host must be allowed by {@code app.signing.jobs.callback}.
+     */
+    private String callbackUrl;
+}
@@ -0,0 +1,49 @@
+package com.example.eSign.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of an asynchronous signing job.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SigningJobResponse {
+
+    /**
+     * Identifier used to poll the job.
+     */
+    private String jobId;
+
+    /**
+     * QUEUED, PROCESSING, COMPLETED or FAILED.
+     */
+    private String status;
+
+    /**
+     * Suggested filename for the signed PDF.
+     */
+    private String fileName;
+
+    /**
+     * Submission time in format yyyy-MM-dd HH:mm:ss (IST).
+     */
+    private String createdAt;
+
+    /**
+     * Last status change in format yyyy-MM-dd HH:mm:ss (IST).
+     */
+    private String updatedAt;
+
+    /**
+     * Failure reason, present when the job failed.
+     */
+    private String error;
+
+    /**
+     * Base64-encoded signed PDF content, present once the job has completed.
+     */
+    private String signedPdfBase64;
+}
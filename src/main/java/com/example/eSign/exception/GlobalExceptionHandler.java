@@ -1,11 +1,15 @@
 package com.example.eSign.exception;
 
+import com.example.eSign.dto.ApiResponse;
+import com.example.eSign.util.Constants;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -34,8 +38,29 @@ public class GlobalExceptionHandler {
         
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
-}
-
 
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
+        String message = Constants.MALFORMED_REQUEST_BODY;
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof InvalidBase64ContentException) {
+                message = cause.getMessage();
+                break;
+            }
+        }
+        return badRequest(message);
+    }
 
+    @ExceptionHandler(InvalidBase64ContentException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidBase64ContentException(InvalidBase64ContentException ex) {
+        return badRequest(ex.getMessage());
+    }
 
+    private ResponseEntity<ApiResponse<Void>> badRequest(String message) {
+        ApiResponse<Void> response = new ApiResponse<>(
+                Constants.STATUS_ERROR,
+                null,
+                Collections.singletonList(message));
+        return ResponseEntity.status(Constants.HTTP_STATUS_BAD_REQUEST).body(response);
+    }
+}
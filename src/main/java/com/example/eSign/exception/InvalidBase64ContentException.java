@@ -0,0 +1,12 @@
+package com.example.eSign.exception;
+
+public class InvalidBase64ContentException extends RuntimeException {
+
+    public InvalidBase64ContentException(String message) {
+        super(message);
+    }
+
+    public InvalidBase64ContentException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.eSign.job;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Decides which callback URLs a signing job may notify.
+ * <p>
+ * A URL is accepted only if its scheme is listed in
+ * {@code app.signing.jobs.callback.allowed-schemes} and its host in
+ * {@code app.signing.jobs.callback.allowed-hosts}; a host entry of the form
+ * {@code *.example.com} matches any subdomain of {@code example.com}. With no hosts
+ * configured, callbacks are rejected, so the service never calls hosts chosen by clients.
+ */
+@Component
+public class CallbackUrlPolicy {
+
+    @Value("${app.signing.jobs.callback.allowed-schemes:https}")
+    private List<String> allowedSchemes;
+
+    @Value("${app.signing.jobs.callback.allowed-hosts:}")
+    private List<String> allowedHosts;
+
+    /**
+     * Parses and checks a callback URL.
+     *
+     * @throws IllegalArgumentException if the URL is malformed or not allowed
+     */
+    public URI validate(String callbackUrl) {
+        URI uri;
+        try {
+            uri = new URI(callbackUrl);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid callbackUrl: " + e.getMessage(), e);
+        }
+        if (uri.getScheme() == null || uri.getHost() == null || uri.getRawUserInfo() != null) {
+            throw new IllegalArgumentException("callbackUrl must be an absolute URL without user info");
+        }
+
+        String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        if (allowedSchemes.stream().noneMatch(allowed -> allowed.trim().equalsIgnoreCase(scheme))) {
+            throw new IllegalArgumentException("callbackUrl scheme is not allowed: " + scheme);
+        }
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        if (allowedHosts.stream().noneMatch(allowed -> hostMatches(allowed.trim().toLowerCase(Locale.ROOT), host))) {
+            throw new IllegalArgumentException("callbackUrl host is not allowed: " + host);
+        }
+        return uri;
+    }
+
+    private static boolean hostMatches(String allowed, String host) {
+        if (allowed.isEmpty()) {
+            return false;
+        }
+        if (allowed.startsWith("*.")) {
+            return host.endsWith(allowed.substring(1));
+        }
+        return host.equals(allowed);
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.eSign.job;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process job store for single-node deployments and test runs where no Redis is available.
+ * Jobs are lost on restart.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.signing.jobs.queue", havingValue = "local")
+public class LocalSigningJobStore implements SigningJobStore {
+
+    private final Map<String, SigningJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, String> inputs = new ConcurrentHashMap<>();
+    private final Map<String, String> results = new ConcurrentHashMap<>();
+    private final BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+    private final Set<String> processing = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.signing.jobs.ttl:24h}")
+    private Duration ttl;
+
+    @Override
+    public synchronized void save(SigningJob job) {
+        jobs.put(job.getId(), copy(job));
+    }
+
+    @Override
+    public Optional<SigningJob> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(LocalSigningJobStore::copy);
+    }
+
+    @Override
+    public void saveInput(String jobId, String pdfBase64) {
+        inputs.put(jobId, pdfBase64);
+    }
+
+    @Override
+    public String getInput(String jobId) {
+        return inputs.get(jobId);
+    }
+
+    @Override
+    public void deleteInput(String jobId) {
+        inputs.remove(jobId);
+    }
+
+    @Override
+    public void saveResult(String jobId, String signedPdfBase64) {
+        results.put(jobId, signedPdfBase64);
+    }
+
+    @Override
+    public String getResult(String jobId) {
+        return results.get(jobId);
+    }
+
+    @Override
+    public void enqueue(String jobId) {
+        purgeExpired();
+        queue.add(jobId);
+        log.debug("Queued signing job {} locally", jobId);
+    }
+
+    @Override
+    public String poll(Duration timeout) throws InterruptedException {
+        String jobId = queue.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (jobId != null) {
+            processing.add(jobId);
+        }
+        return jobId;
+    }
+
+    @Override
+    public synchronized void acknowledge(String jobId) {
+        processing.remove(jobId);
+    }
+
+    @Override
+    public List<String> inProgress() {
+        return new ArrayList<>(processing);
+    }
+
+    @Override
+    public synchronized boolean requeue(SigningJob job) {
+        if (!release(job, SigningJobStatus.QUEUED, null)) {
+            return false;
+        }
+        queue.add(job.getId());
+        return true;
+    }
+
+    @Override
+    public synchronized boolean fail(SigningJob job, String error) {
+        return release(job, SigningJobStatus.FAILED, error);
+    }
+
+    /**
+     * Removes the id from the in-progress set and stores the new status, if the stored job is
+     * unchanged since {@code job} was read. Callers hold the store's lock, as does {@link #save}.
+     */
+    private boolean release(SigningJob job, SigningJobStatus status, String error) {
+        SigningJob stored = jobs.get(job.getId());
+        if (stored == null || stored.getStatus() != job.getStatus() || stored.getUpdatedAt() != job.getUpdatedAt()
+                || !processing.remove(job.getId())) {
+            return false;
+        }
+        job.setStatus(status);
+        job.setError(error);
+        job.setUpdatedAt(System.currentTimeMillis());
+        jobs.put(job.getId(), copy(job));
+        return true;
+    }
+
+    private static SigningJob copy(SigningJob job) {
+        SigningJob copy = new SigningJob();
+        copy.setId(job.getId());
+        copy.setStatus(job.getStatus());
+        copy.setFileName(job.getFileName());
+        copy.setAlias(job.getAlias());
+        copy.setCallbackUrl(job.getCallbackUrl());
+        copy.setError(job.getError());
+        copy.setCreatedAt(job.getCreatedAt());
+        copy.setUpdatedAt(job.getUpdatedAt());
+        copy.setAttempts(job.getAttempts());
+        return copy;
+    }
+
+    /**
+     * Drops finished jobs older than the configured TTL, mirroring key expiry in the Redis store.
+     */
+    private void purgeExpired() {
+        long cutoff = System.currentTimeMillis() - ttl.toMillis();
+        jobs.values().removeIf(job -> {
+            boolean expired = job.getUpdatedAt() < cutoff
+                    && (job.getStatus() == SigningJobStatus.COMPLETED || job.getStatus() == SigningJobStatus.FAILED);
+            if (expired) {
+                inputs.remove(job.getId());
+                results.remove(job.getId());
+            }
+            return expired;
+        });
+    }
+}
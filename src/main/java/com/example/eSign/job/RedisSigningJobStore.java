@@ -0,0 +1,173 @@
+package com.example.eSign.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Redis-backed job store. Jobs are pushed onto a shared list so every eSign node
+ * polling the same Redis drains the same queue. Claimed ids are moved atomically
+ * ({@code BLMOVE}) to a shared in-progress list, so a job whose worker dies is not lost.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.signing.jobs.queue", havingValue = "redis", matchIfMissing = true)
+public class RedisSigningJobStore implements SigningJobStore {
+
+    private static final String KEY_PREFIX = "esign:job:";
+    private static final String QUEUE_KEY = "esign:jobs:queue";
+    private static final String PROCESSING_KEY = "esign:jobs:processing";
+
+    // Releases a claimed job if it is unchanged since the caller read it (same status and
+    // updatedAt): stores the new status and error, then pushes the id back onto the queue when
+    // ARGV[7] is 1. Only the caller that removes the id from the in-progress list does so.
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('HMGET', KEYS[1], 'status', 'updatedAt') "
+                    + "if current[1] ~= ARGV[2] or current[2] ~= ARGV[3] then return 0 end "
+                    + "if redis.call('LREM', KEYS[2], 1, ARGV[1]) == 0 then return 0 end "
+                    + "redis.call('HSET', KEYS[1], 'status', ARGV[4], 'updatedAt', ARGV[5]) "
+                    + "if ARGV[6] == '' then redis.call('HDEL', KEYS[1], 'error') "
+                    + "else redis.call('HSET', KEYS[1], 'error', ARGV[6]) end "
+                    + "if ARGV[7] == '1' then redis.call('LPUSH', KEYS[3], ARGV[1]) end "
+                    + "return 1",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${app.signing.jobs.ttl:24h}")
+    private Duration ttl;
+
+    @Override
+    public void save(SigningJob job) {
+        String key = jobKey(job.getId());
+        Map<String, String> fields = new HashMap<>();
+        fields.put("status", job.getStatus().name());
+        fields.put("createdAt", Long.toString(job.getCreatedAt()));
+        fields.put("updatedAt", Long.toString(job.getUpdatedAt()));
+        if (job.getFileName() != null) {
+            fields.put("fileName", job.getFileName());
+        }
+        if (job.getAlias() != null) {
+            fields.put("alias", job.getAlias());
+        }
+        if (job.getCallbackUrl() != null) {
+            fields.put("callbackUrl", job.getCallbackUrl());
+        }
+        if (job.getError() != null) {
+            fields.put("error", job.getError());
+        }
+        fields.put("attempts", Integer.toString(job.getAttempts()));
+        redisTemplate.opsForHash().putAll(key, fields);
+        redisTemplate.expire(key, ttl);
+    }
+
+    @Override
+    public Optional<SigningJob> find(String jobId) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(jobKey(jobId));
+        if (fields == null || fields.isEmpty()) {
+            return Optional.empty();
+        }
+
+        SigningJob job = new SigningJob();
+        job.setId(jobId);
+        job.setStatus(SigningJobStatus.valueOf((String) fields.get("status")));
+        job.setFileName((String) fields.get("fileName"));
+        job.setAlias((String) fields.get("alias"));
+        job.setCallbackUrl((String) fields.get("callbackUrl"));
+        job.setError((String) fields.get("error"));
+        job.setCreatedAt(Long.parseLong((String) fields.getOrDefault("createdAt", "0")));
+        job.setUpdatedAt(Long.parseLong((String) fields.getOrDefault("updatedAt", "0")));
+        job.setAttempts(Integer.parseInt((String) fields.getOrDefault("attempts", "0")));
+        return Optional.of(job);
+    }
+
+    @Override
+    public void saveInput(String jobId, String pdfBase64) {
+        redisTemplate.opsForValue().set(jobKey(jobId) + ":input", pdfBase64, ttl);
+    }
+
+    @Override
+    public String getInput(String jobId) {
+        return redisTemplate.opsForValue().get(jobKey(jobId) + ":input");
+    }
+
+    @Override
+    public void deleteInput(String jobId) {
+        redisTemplate.delete(jobKey(jobId) + ":input");
+    }
+
+    @Override
+    public void saveResult(String jobId, String signedPdfBase64) {
+        redisTemplate.opsForValue().set(jobKey(jobId) + ":result", signedPdfBase64, ttl);
+    }
+
+    @Override
+    public String getResult(String jobId) {
+        return redisTemplate.opsForValue().get(jobKey(jobId) + ":result");
+    }
+
+    @Override
+    public void enqueue(String jobId) {
+        redisTemplate.opsForList().leftPush(QUEUE_KEY, jobId);
+        log.debug("Queued signing job {} in Redis", jobId);
+    }
+
+    @Override
+    public String poll(Duration timeout) {
+        return redisTemplate.opsForList().move(
+                ListOperations.MoveFrom.fromTail(QUEUE_KEY), ListOperations.MoveTo.toHead(PROCESSING_KEY), timeout);
+    }
+
+    @Override
+    public void acknowledge(String jobId) {
+        redisTemplate.opsForList().remove(PROCESSING_KEY, 1, jobId);
+    }
+
+    @Override
+    public List<String> inProgress() {
+        List<String> ids = redisTemplate.opsForList().range(PROCESSING_KEY, 0, -1);
+        return ids != null ? ids : List.of();
+    }
+
+    @Override
+    public boolean requeue(SigningJob job) {
+        return release(job, SigningJobStatus.QUEUED, null, true);
+    }
+
+    @Override
+    public boolean fail(SigningJob job, String error) {
+        return release(job, SigningJobStatus.FAILED, error, false);
+    }
+
+    private boolean release(SigningJob job, SigningJobStatus status, String error, boolean requeue) {
+        long now = System.currentTimeMillis();
+        Long released = redisTemplate.execute(RELEASE_SCRIPT,
+                List.of(jobKey(job.getId()), PROCESSING_KEY, QUEUE_KEY),
+                job.getId(), job.getStatus().name(), Long.toString(job.getUpdatedAt()),
+                status.name(), Long.toString(now), error != null ? error : "", requeue ? "1" : "0");
+        if (released == null || released != 1) {
+            return false;
+        }
+        job.setStatus(status);
+        job.setError(error);
+        job.setUpdatedAt(now);
+        return true;
+    }
+
+    private String jobKey(String jobId) {
+        return KEY_PREFIX + jobId;
+    }
+}
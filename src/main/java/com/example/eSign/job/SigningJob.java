@@ -0,0 +1,23 @@
+package com.example.eSign.job;
+
+import lombok.Data;
+
+/**
+ * State of an asynchronous signing job. The document itself and the signed result
+ * are stored separately by the {@link SigningJobStore} so the job can be read cheaply.
+ */
+@Data
+public class SigningJob {
+    private String id;
+    private SigningJobStatus status;
+    private String fileName;
+    private String alias;
+    private String callbackUrl;
+    private String error;
+    private long createdAt;
+    private long updatedAt;
+    /**
+     * Number of times a worker has started processing the job.
+     */
+    private int attempts;
+}
@@ -0,0 +1,8 @@
+package com.example.eSign.job;
+
+public enum SigningJobStatus {
+    QUEUED,
+    PROCESSING,
+    COMPLETED,
+    FAILED
+}
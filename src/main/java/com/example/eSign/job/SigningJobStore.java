@@ -0,0 +1,93 @@
+package com.example.eSign.job;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage and work queue for asynchronous signing jobs.
+ * <p>
+ * Delivery is at-least-once: {@link #poll} moves a job id to an in-progress list instead of
+ * removing it, and the id stays there until the worker {@link #acknowledge acknowledges} it.
+ * Ids left behind by a crashed worker are found through {@link #inProgress()} and put back
+ * with {@link #requeue}, or given up with {@link #fail}. The input document is kept until the job has finished.
+ */
+public interface SigningJobStore {
+
+    /**
+     * Create or update the job state.
+     */
+    void save(SigningJob job);
+
+    /**
+     * Look up a job by id.
+     */
+    Optional<SigningJob> find(String jobId);
+
+    /**
+     * Store the base64 document to be signed for a job.
+     */
+    void saveInput(String jobId, String pdfBase64);
+
+    /**
+     * Return the base64 document for a job, or null if it is no longer present.
+     */
+    String getInput(String jobId);
+
+    /**
+     * Delete the base64 document of a job that has finished.
+     */
+    void deleteInput(String jobId);
+
+    /**
+     * Store the base64 signed document for a completed job.
+     */
+    void saveResult(String jobId, String signedPdfBase64);
+
+    /**
+     * Return the base64 signed document for a completed job, or null if not available.
+     */
+    String getResult(String jobId);
+
+    /**
+     * Append a job id to the work queue.
+     */
+    void enqueue(String jobId);
+
+    /**
+     * Claim the next job id from the work queue, waiting up to {@code timeout}. The id is
+     * moved to the in-progress list, where it stays until acknowledged or requeued.
+     *
+     * @return job id, or null if the queue stayed empty
+     */
+    String poll(Duration timeout) throws InterruptedException;
+
+    /**
+     * Remove a claimed job id from the in-progress list once the worker is done with it.
+     */
+    void acknowledge(String jobId);
+
+    /**
+     * Job ids currently claimed by a worker on any node.
+     */
+    List<String> inProgress();
+
+    /**
+     * Move a claimed job back to the work queue and mark it {@link SigningJobStatus#QUEUED}.
+     * The status check, the status change and the queue move happen in one step, and only if
+     * the stored job still has the status and update time of {@code job}; on success
+     * {@code job} is updated to match.
+     *
+     * @return false if the job changed since it was read, for example because its worker
+     * finished it, or the id was no longer in progress
+     */
+    boolean requeue(SigningJob job);
+
+    /**
+     * Release a claimed job and mark it {@link SigningJobStatus#FAILED} with {@code error},
+     * in one step and under the same condition as {@link #requeue}.
+     *
+     * @return false if the job changed since it was read or the id was no longer in progress
+     */
+    boolean fail(SigningJob job, String error);
+}
@@ -0,0 +1,262 @@
+package com.example.eSign.job;
+
+import com.example.eSign.codec.Base64Content;
+import com.example.eSign.dto.ApiResponse;
+import com.example.eSign.dto.PdfSignBase64Request;
+import com.example.eSign.dto.PdfSignResponse;
+import com.example.eSign.dto.SigningJobResponse;
+import com.example.eSign.service.PdfSigningService;
+import com.example.eSign.service.SigningJobService;
+import com.example.eSign.util.Constants;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the signing job queue with a node-local pool of worker threads.
+ * <p>
+ * Each node runs its own workers against the shared {@link SigningJobStore}, so adding
+ * nodes adds signing capacity for queued jobs. A reaper on every node looks for claimed
+ * jobs that have not changed for {@code app.signing.jobs.stale-after}, which means their
+ * worker died, and puts them back on the queue; after {@code app.signing.jobs.max-attempts}
+ * tries a job is marked failed instead. Jobs are therefore processed at least once, and
+ * in rare races (a worker stalled past the stale period) more than once.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SigningJobWorker {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    private final SigningJobStore signingJobStore;
+    private final SigningJobService signingJobService;
+    private final PdfSigningService pdfSigningService;
+    private final CallbackUrlPolicy callbackUrlPolicy;
+
+    @Value("${app.signing.jobs.workers:2}")
+    private int workerCount;
+
+    @Value("${app.signing.jobs.stale-after:10m}")
+    private Duration staleAfter;
+
+    @Value("${app.signing.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.signing.jobs.reaper-interval:1m}")
+    private Duration reaperInterval;
+
+    @Value("${app.signing.jobs.callback.connect-timeout:2s}")
+    private Duration callbackConnectTimeout;
+
+    @Value("${app.signing.jobs.callback.read-timeout:5s}")
+    private Duration callbackReadTimeout;
+
+    private RestClient restClient;
+    private ExecutorService workers;
+    private ScheduledExecutorService reaper;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        // Bounded timeouts so a slow callback endpoint cannot hold a worker; redirects are not
+        // followed, so an allowed host cannot bounce the request elsewhere.
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .connectTimeout(callbackConnectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build());
+        requestFactory.setReadTimeout(callbackReadTimeout);
+        restClient = RestClient.builder().requestFactory(requestFactory).build();
+
+        if (workerCount <= 0) {
+            log.info("Signing job workers disabled on this node");
+            return;
+        }
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "esign-job-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::pollLoop);
+        }
+
+        reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "esign-job-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = reaperInterval.toMillis();
+        reaper.scheduleWithFixedDelay(this::reapStaleJobs, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Started {} signing job workers", workerCount);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (reaper != null) {
+            reaper.shutdownNow();
+        }
+        if (workers != null) {
+            workers.shutdown();
+            if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        }
+    }
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                String jobId = signingJobStore.poll(POLL_TIMEOUT);
+                if (jobId != null) {
+                    process(jobId);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Typically a lost Redis connection; back off before polling again.
+                log.error("Error while polling signing job queue", e);
+                try {
+                    Thread.sleep(POLL_TIMEOUT.toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void process(String jobId) {
+        SigningJob job = signingJobStore.find(jobId).orElse(null);
+        if (job == null || job.getStatus() != SigningJobStatus.QUEUED) {
+            // Expired, already finished, or delivered twice; nothing left to do for this claim.
+            log.warn("Skipping signing job {} that is missing or no longer queued", jobId);
+            signingJobStore.acknowledge(jobId);
+            return;
+        }
+
+        job.setAttempts(job.getAttempts() + 1);
+        updateStatus(job, SigningJobStatus.PROCESSING, null);
+
+        try {
+            String pdfBase64 = signingJobStore.getInput(jobId);
+            if (pdfBase64 == null) {
+                throw new IllegalStateException("Document for job has expired");
+            }
+
+            PdfSignBase64Request request = new PdfSignBase64Request();
+            request.setPdfBase64(Base64Content.decode(pdfBase64));
+            request.setFileName(job.getFileName());
+            request.setAlias(job.getAlias());
+            PdfSignResponse signed = pdfSigningService.signPdfFromBase64(request);
+
+            signingJobStore.saveResult(jobId, signed.getSignedPdfBase64());
+            job.setFileName(signed.getFileName());
+            updateStatus(job, SigningJobStatus.COMPLETED, null);
+            log.info("Signing job {} completed", jobId);
+        } catch (Exception e) {
+            log.error("Signing job {} failed", jobId, e);
+            updateStatus(job, SigningJobStatus.FAILED, "Failed to sign PDF: " + e.getMessage());
+        }
+
+        // Only released once the final status is stored, so a crash before this point is
+        // picked up by the reaper.
+        signingJobStore.deleteInput(jobId);
+        signingJobStore.acknowledge(jobId);
+        notifyCallback(job);
+    }
+
+    /**
+     * Requeues claimed jobs whose worker has stopped making progress, or fails them once
+     * they have used up their attempts. Claims of finished or expired jobs are released.
+     */
+    private void reapStaleJobs() {
+        try {
+            long staleBefore = System.currentTimeMillis() - staleAfter.toMillis();
+            for (String jobId : signingJobStore.inProgress()) {
+                SigningJob job = signingJobStore.find(jobId).orElse(null);
+                if (job == null || job.getStatus() == SigningJobStatus.COMPLETED
+                        || job.getStatus() == SigningJobStatus.FAILED) {
+                    signingJobStore.acknowledge(jobId);
+                    continue;
+                }
+                if (job.getUpdatedAt() >= staleBefore) {
+                    continue;
+                }
+
+                // Both only apply if the job is unchanged since it was read, so a worker that
+                // finishes it in the meantime keeps its final status.
+                if (job.getAttempts() >= maxAttempts) {
+                    if (signingJobStore.fail(job,
+                            "Failed to sign PDF: abandoned after " + job.getAttempts() + " attempts")) {
+                        log.warn("Signing job {} abandoned after {} attempts", jobId, job.getAttempts());
+                        signingJobStore.deleteInput(jobId);
+                        notifyCallback(job);
+                    }
+                } else if (signingJobStore.requeue(job)) {
+                    log.warn("Requeued stale signing job {} (attempt {})", jobId, job.getAttempts());
+                }
+            }
+        } catch (RuntimeException e) {
+            // A failed run must not cancel the scheduled reaper task.
+            log.warn("Signing job reaper failed: {}", e.getMessage());
+        }
+    }
+
+    private void updateStatus(SigningJob job, SigningJobStatus status, String error) {
+        job.setStatus(status);
+        job.setError(error);
+        job.setUpdatedAt(System.currentTimeMillis());
+        signingJobStore.save(job);
+    }
+
+    /**
+     * Posts the job status (without the signed document) to the job's callback URL, if any.
+     * The client fetches the signed document by polling the job.
+     */
+    private void notifyCallback(SigningJob job) {
+        if (job.getCallbackUrl() == null || job.getCallbackUrl().isBlank()) {
+            return;
+        }
+
+        try {
+            // Re-checked here as well, in case the policy changed since the job was submitted.
+            URI callbackUri = callbackUrlPolicy.validate(job.getCallbackUrl());
+            SigningJobResponse payload = signingJobService.getJob(job.getId());
+            payload.setSignedPdfBase64(null);
+            String status = job.getStatus() == SigningJobStatus.COMPLETED
+                    ? Constants.STATUS_SUCCESS
+                    : Constants.STATUS_ERROR;
+
+            restClient.post()
+                    .uri(callbackUri)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(new ApiResponse<>(status, payload, null))
+                    .retrieve()
+                    .toBodilessEntity();
+            log.debug("Delivered callback for signing job {}", job.getId());
+        } catch (Exception e) {
+            log.warn("Failed to deliver callback for signing job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+}
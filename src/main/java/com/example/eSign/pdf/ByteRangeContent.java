@@ -0,0 +1,79 @@
+package com.example.eSign.pdf;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.cms.CMSObjectIdentifiers;
+import org.bouncycastle.cms.CMSTypedData;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Signed content of a PDF signature, exposed to CMS as views over the original file.
+ * <p>
+ * The two {@code /ByteRange} segments are {@link ByteBuffer} slices of the document
+ * buffer, so nothing is copied when CMS digests the content. Heap buffers are written
+ * straight from their backing array; direct or memory-mapped buffers go through a small
+ * fixed-size transfer buffer.
+ */
+public final class ByteRangeContent implements CMSTypedData {
+
+    private static final int TRANSFER_BUFFER_SIZE = 8192;
+
+    private final ByteBuffer[] segments;
+
+    /**
+     * @param document  complete PDF; its position and limit are not modified
+     * @param byteRange the signature's {@code /ByteRange} array
+     * @throws IOException if the byte range is malformed or lies outside the document
+     */
+    public ByteRangeContent(ByteBuffer document, int[] byteRange) throws IOException {
+        if (byteRange == null || byteRange.length != 4) {
+            throw new IOException("Invalid signature byte range");
+        }
+
+        int fileSize = document.limit();
+        segments = new ByteBuffer[2];
+        for (int i = 0; i < byteRange.length; i += 2) {
+            int start = byteRange[i];
+            int length = byteRange[i + 1];
+            if (start < 0 || length < 0 || (long) start + length > fileSize) {
+                throw new IOException("Signature byte range is outside of PDF content");
+            }
+            segments[i / 2] = document.duplicate().position(start).limit(start + length).slice();
+        }
+    }
+
+    @Override
+    public ASN1ObjectIdentifier getContentType() {
+        return CMSObjectIdentifiers.data;
+    }
+
+    @Override
+    public void write(OutputStream out) throws IOException {
+        byte[] transfer = null;
+        for (ByteBuffer segment : segments) {
+            ByteBuffer view = segment.duplicate();
+            if (view.hasArray()) {
+                out.write(view.array(), view.arrayOffset() + view.position(), view.remaining());
+                continue;
+            }
+            if (transfer == null) {
+                transfer = new byte[TRANSFER_BUFFER_SIZE];
+            }
+            while (view.hasRemaining()) {
+                int chunk = Math.min(transfer.length, view.remaining());
+                view.get(transfer, 0, chunk);
+                out.write(transfer, 0, chunk);
+            }
+        }
+    }
+
+    /**
+     * Returns read-only views of the two signed segments.
+     */
+    @Override
+    public Object getContent() {
+        return new ByteBuffer[]{segments[0].asReadOnlyBuffer(), segments[1].asReadOnlyBuffer()};
+    }
+}
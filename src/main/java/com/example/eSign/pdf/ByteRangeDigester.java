@@ -0,0 +1,147 @@
+package com.example.eSign.pdf;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Digests the signed byte ranges of every signature in a PDF with a single pass over the file.
+ * <p>
+ * Each signature of an incrementally signed PDF covers a prefix of the file with a hole for
+ * its own {@code /Contents}. A running digest is fed the file once; at the start of each
+ * signature's hole the running state is cloned, and the clone is then fed only the bytes
+ * after the hole up to the end of that signature's revision. Verifying N signatures
+ * therefore costs roughly one hash of the file instead of N.
+ */
+public final class ByteRangeDigester {
+
+    private ByteRangeDigester() {
+    }
+
+    /**
+     * Computes the digest of each signature's byte range.
+     *
+     * @param data             complete PDF bytes
+     * @param byteRanges       {@code /ByteRange} arrays, one per signature
+     * @param digestAlgorithms JCA name or OID of the digest to compute, one per signature
+     * @return digests in the same order as {@code byteRanges}; an entry is {@code null} when
+     *         its byte range is malformed or its algorithm is unavailable
+     */
+    public static List<byte[]> digest(byte[] data, List<int[]> byteRanges, List<String> digestAlgorithms) {
+        return digest(ByteBuffer.wrap(data), byteRanges, digestAlgorithms);
+    }
+
+    /**
+     * Computes the digest of each signature's byte range over a buffer, which may be
+     * memory-mapped. The buffer's position and limit are not modified.
+     *
+     * @see #digest(byte[], List, List)
+     */
+    public static List<byte[]> digest(ByteBuffer data, List<int[]> byteRanges, List<String> digestAlgorithms) {
+        byte[][] results = new byte[byteRanges.size()][];
+
+        // Signatures using the same digest algorithm share one pass.
+        Map<String, List<Integer>> byAlgorithm = new LinkedHashMap<>();
+        for (int i = 0; i < byteRanges.size(); i++) {
+            if (digestAlgorithms.get(i) != null && isWellFormed(byteRanges.get(i), data.limit())) {
+                byAlgorithm.computeIfAbsent(digestAlgorithms.get(i), key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        for (Map.Entry<String, List<Integer>> entry : byAlgorithm.entrySet()) {
+            try {
+                digestGroup(data, byteRanges, entry.getKey(), entry.getValue(), results);
+            } catch (NoSuchAlgorithmException | CloneNotSupportedException e) {
+                // Leave the group's entries null so callers fall back to per-signature hashing.
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private static void digestGroup(ByteBuffer data, List<int[]> byteRanges, String algorithm,
+                                    List<Integer> indices, byte[][] results)
+            throws NoSuchAlgorithmException, CloneNotSupportedException {
+        MessageDigest running = MessageDigest.getInstance(algorithm);
+        MessageDigest[] branches = new MessageDigest[indices.size()];
+
+        // Every range edge is a boundary, so each segment between consecutive boundaries
+        // lies entirely inside or outside any given range.
+        TreeSet<Integer> boundaries = new TreeSet<>();
+        boundaries.add(0);
+        int runningEnd = 0;
+        for (int index : indices) {
+            int[] range = byteRanges.get(index);
+            boundaries.add(range[0]);
+            boundaries.add(range[0] + range[1]);
+            boundaries.add(range[2]);
+            boundaries.add(range[2] + range[3]);
+            if (range[0] == 0) {
+                runningEnd = Math.max(runningEnd, range[1]);
+            }
+        }
+
+        Integer[] points = boundaries.toArray(new Integer[0]);
+        for (int p = 0; p < points.length; p++) {
+            int start = points[p];
+
+            for (int b = 0; b < branches.length; b++) {
+                if (branches[b] == null) {
+                    int[] range = byteRanges.get(indices.get(b));
+                    if (range[0] == 0 && range[1] == start) {
+                        // Prefix ranges branch off the running digest at the start of their hole.
+                        branches[b] = (MessageDigest) running.clone();
+                    } else if (range[0] != 0 && start == 0) {
+                        branches[b] = MessageDigest.getInstance(algorithm);
+                    }
+                }
+            }
+
+            if (p + 1 == points.length) {
+                break;
+            }
+            int end = points[p + 1];
+
+            if (start < runningEnd) {
+                running.update(segment(data, start, end));
+            }
+            for (int b = 0; b < branches.length; b++) {
+                int[] range = byteRanges.get(indices.get(b));
+                boolean inFirst = range[0] != 0 && start >= range[0] && end <= range[0] + range[1];
+                boolean inSecond = start >= range[2] && end <= range[2] + range[3];
+                if (branches[b] != null && (inFirst || inSecond)) {
+                    branches[b].update(segment(data, start, end));
+                }
+            }
+        }
+
+        for (int b = 0; b < branches.length; b++) {
+            if (branches[b] != null) {
+                results[indices.get(b)] = branches[b].digest();
+            }
+        }
+    }
+
+    private static ByteBuffer segment(ByteBuffer data, int start, int end) {
+        return data.duplicate().position(start).limit(end);
+    }
+
+    private static boolean isWellFormed(int[] range, int length) {
+        if (range == null || range.length != 4) {
+            return false;
+        }
+        for (int value : range) {
+            if (value < 0) {
+                return false;
+            }
+        }
+        long firstEnd = (long) range[0] + range[1];
+        long secondEnd = (long) range[2] + range[3];
+        return firstEnd <= range[2] && secondEnd <= length;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.eSign.pdf;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A PDF together with any file backing it. The document is parsed on first access to
+ * {@link #getDocument()}, so callers that only need the raw bytes never pay for a full
+ * parse. Closing releases the document and deletes the file if it was created for this
+ * instance.
+ */
+@Slf4j
+public final class LoadedPdf implements Closeable {
+
+    private final byte[] bytes;
+    private final Path file;
+    private final boolean temporary;
+    private final Parser parser;
+    private PDDocument document;
+    private ByteBuffer content;
+
+    LoadedPdf(byte[] bytes, Path file, boolean temporary, Parser parser) {
+        this.bytes = bytes;
+        this.file = file;
+        this.temporary = temporary;
+        this.parser = parser;
+    }
+
+    /**
+     * The parsed document, parsing it on first call.
+     */
+    public synchronized PDDocument getDocument() throws IOException {
+        if (document == null) {
+            document = parser.parse();
+        }
+        return document;
+    }
+
+    /**
+     * Raw bytes of the file as a read view: the heap array for in-memory documents, or a
+     * read-only memory mapping of the backing file. Callers must not use the buffer after
+     * closing this instance.
+     */
+    public synchronized ByteBuffer getContent() throws IOException {
+        if (content == null) {
+            if (file == null) {
+                content = ByteBuffer.wrap(bytes);
+            } else {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    content = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+            }
+        }
+        return content.duplicate();
+    }
+
+    /**
+     * Whether the document is read from a file rather than held on the heap.
+     */
+    public boolean isFileBacked() {
+        return file != null;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if (document != null) {
+                document.close();
+            }
+        } finally {
+            if (temporary) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Failed to delete temporary PDF file {}: {}", file, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Parser {
+        PDDocument parse() throws IOException;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.eSign.pdf;
+
+import com.example.eSign.codec.Base64Content;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.io.RandomAccessReadMemoryMappedFile;
+import org.apache.pdfbox.io.RandomAccessStreamCache.StreamCacheCreateFunction;
+import org.apache.pdfbox.io.ScratchFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Chooses how a PDF is opened based on its size.
+ * <p>
+ * Documents below {@code app.pdf.load.file-threshold} are parsed from memory with an
+ * in-memory stream cache. Larger documents use a mixed memory / scratch-file stream cache
+ * and, when read from a stream, are spilled to a temporary file that PDFBox reads through a
+ * memory-mapped {@link RandomAccessRead}, so the raw bytes never sit on the heap.
+ * <p>
+ * {@code open} methods only buffer the content and defer parsing to
+ * {@link LoadedPdf#getDocument()}; {@code load} methods parse immediately.
+ */
+@Slf4j
+@Component
+public class PdfDocumentLoader {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    @Value("${app.pdf.load.file-threshold:8MB}")
+    private DataSize fileThreshold;
+
+    @Value("${app.pdf.load.max-main-memory:16MB}")
+    private DataSize maxMainMemory;
+
+    /**
+     * Load and parse a PDF that is already held in memory.
+     */
+    public LoadedPdf load(byte[] pdfBytes) throws IOException {
+        return parsed(open(pdfBytes));
+    }
+
+    /**
+     * Load and parse a PDF from a stream.
+     *
+     * @param pdfStream PDF content; not closed by this method
+     * @param sizeHint  content length if known, otherwise a negative value
+     */
+    public LoadedPdf load(InputStream pdfStream, long sizeHint) throws IOException {
+        return parsed(open(pdfStream, sizeHint));
+    }
+
+    /**
+     * Wrap a PDF that is already held in memory without parsing it yet.
+     */
+    public LoadedPdf open(byte[] pdfBytes) {
+        return new LoadedPdf(pdfBytes, null, false,
+                () -> Loader.loadPDF(pdfBytes, "", null, null, streamCacheFor(pdfBytes.length)));
+    }
+
+    /**
+     * Load and parse a PDF decoded from a base64 JSON payload.
+     */
+    public LoadedPdf load(Base64Content content) throws IOException {
+        return parsed(open(content));
+    }
+
+    /**
+     * Wrap a PDF decoded from a base64 JSON payload without parsing it yet. Content spilled
+     * to a file is memory-mapped in place; the file stays owned by {@code content}.
+     */
+    public LoadedPdf open(Base64Content content) throws IOException {
+        if (!content.isFileBacked()) {
+            return open(content.toByteArray());
+        }
+        Path file = content.getFile();
+        long size = content.size();
+        return new LoadedPdf(null, file, false,
+                () -> parse(new RandomAccessReadMemoryMappedFile(file.toFile()), size));
+    }
+
+    /**
+     * Buffer a PDF from a stream, in memory or in a temporary file depending on its size,
+     * without parsing it yet.
+     *
+     * @param pdfStream PDF content; not closed by this method
+     * @param sizeHint  content length if known, otherwise a negative value
+     */
+    public LoadedPdf open(InputStream pdfStream, long sizeHint) throws IOException {
+        long threshold = fileThreshold.toBytes();
+
+        if (sizeHint >= 0 && sizeHint < threshold) {
+            return openInMemory(pdfStream.readAllBytes());
+        }
+
+        if (sizeHint < 0) {
+            // Unknown length: buffer up to the threshold and only spill if the stream continues.
+            byte[] head = pdfStream.readNBytes((int) Math.min(threshold, Integer.MAX_VALUE - 8));
+            if (head.length < threshold) {
+                return openInMemory(head);
+            }
+            return openTempFile(head, pdfStream);
+        }
+
+        return openTempFile(new byte[0], pdfStream);
+    }
+
+    private LoadedPdf openInMemory(byte[] pdfBytes) {
+        return new LoadedPdf(pdfBytes, null, false,
+                () -> parse(new RandomAccessReadBuffer(pdfBytes), pdfBytes.length));
+    }
+
+    private LoadedPdf openTempFile(byte[] head, InputStream rest) throws IOException {
+        Path tempFile = Files.createTempFile("esign-", ".pdf");
+        try {
+            long size;
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                out.write(head);
+                size = head.length + copy(rest, out);
+            }
+            log.debug("Spilled {} byte PDF to temporary file {}", size, tempFile);
+
+            return new LoadedPdf(null, tempFile, true,
+                    () -> parse(new RandomAccessReadMemoryMappedFile(tempFile.toFile()), size));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Parses the document eagerly so load failures surface here, releasing the buffered
+     * content if parsing fails.
+     */
+    private LoadedPdf parsed(LoadedPdf pdf) throws IOException {
+        try {
+            pdf.getDocument();
+            return pdf;
+        } catch (IOException | RuntimeException e) {
+            try {
+                pdf.close();
+            } catch (IOException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw e;
+        }
+    }
+
+    private PDDocument parse(RandomAccessRead source, long size) throws IOException {
+        try {
+            return Loader.loadPDF(source, "", null, null, streamCacheFor(size));
+        } catch (IOException | RuntimeException e) {
+            source.close();
+            throw e;
+        }
+    }
+
+    private StreamCacheCreateFunction streamCacheFor(long size) {
+        if (size < fileThreshold.toBytes()) {
+            return IOUtils.createMemoryOnlyStreamCache();
+        }
+        MemoryUsageSetting setting = MemoryUsageSetting.setupMixed(maxMainMemory.toBytes());
+        return () -> new ScratchFile(setting);
+    }
+
+    private long copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            total += read;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,917 @@
+package com.example.eSign.pdf;
+
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.util.DateConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Lists the signature dictionaries of a PDF without parsing the whole document.
+ * <p>
+ * Starting from the final {@code startxref}, the scanner reads every cross-reference section
+ * (classic tables, hybrid files and cross-reference streams, following {@code /Prev} back
+ * through incremental updates) and then resolves only the catalog, the AcroForm field tree
+ * and each signature field's {@code /V} dictionary. Objects are read in place from the
+ * buffer, so the rest of the file is never touched and memory use does not grow with the
+ * document size.
+ * <p>
+ * Anything the scanner does not understand (damaged cross-references, encrypted documents,
+ * unsupported stream filters) raises an {@link IOException}; callers are expected to fall
+ * back to a full parse in that case.
+ */
+public final class PdfSignatureScanner {
+
+    private static final int TAIL_SIZE = 4096;
+    private static final int MAX_XREF_SECTIONS = 1000;
+    private static final int MAX_FIELD_DEPTH = 32;
+    // Cross-reference and object streams are small; anything larger is treated as a decompression bomb.
+    private static final int MAX_DECODED_STREAM_SIZE = 32 * 1024 * 1024;
+    private static final List<String> SIGNATURE_ENTRIES = List.of("Name", "Location", "Reason", "M", "SubFilter", "Contents");
+    private static final byte[] STARTXREF = "startxref".getBytes(StandardCharsets.US_ASCII);
+
+    private final ByteBuffer pdf;
+    private final Map<Integer, XrefEntry> xref = new HashMap<>();
+    private final Map<Integer, ObjectStream> objectStreams = new HashMap<>();
+    private Map<String, Object> trailer;
+
+    private PdfSignatureScanner(ByteBuffer pdf) {
+        this.pdf = pdf;
+    }
+
+    /**
+     * Finds the signature dictionaries in a PDF, in AcroForm field order.
+     *
+     * @param pdf complete PDF file content; the returned signatures read their
+     *            {@code /Contents} from it lazily, so it must stay valid while they are used
+     * @return signatures found, empty if the document has no signature fields
+     * @throws IOException if the document structure cannot be read without a full parse
+     */
+    public static List<ScannedSignature> scan(ByteBuffer pdf) throws IOException {
+        try {
+            return new PdfSignatureScanner(pdf).scan();
+        } catch (RuntimeException e) {
+            throw new IOException("Malformed PDF structure: " + e.getMessage(), e);
+        }
+    }
+
+    private List<ScannedSignature> scan() throws IOException {
+        readXrefChain(findStartXref());
+
+        if (trailer.containsKey("Encrypt")) {
+            throw new IOException("Encrypted documents are not scanned");
+        }
+        Map<String, Object> catalog = dictionary(resolve(trailer.get("Root")));
+        if (catalog == null) {
+            throw new IOException("Document catalog not found");
+        }
+
+        Map<String, Object> acroForm = dictionary(resolve(catalog.get("AcroForm")));
+        Object fields = acroForm != null ? resolve(acroForm.get("Fields")) : null;
+        if (!(fields instanceof List<?> fieldList)) {
+            return Collections.emptyList();
+        }
+
+        List<ScannedSignature> signatures = new ArrayList<>();
+        Set<Integer> visited = new HashSet<>();
+        for (Object field : fieldList) {
+            collectSignatures(field, null, 0, visited, signatures);
+        }
+        return signatures;
+    }
+
+    /**
+     * Walks the field tree in document order, inheriting {@code /FT} from parent fields.
+     * Kids without {@code /T} are widget annotations, not fields, and are not descended into.
+     */
+    private void collectSignatures(Object fieldRef, String inheritedType, int depth,
+                                   Set<Integer> visited, List<ScannedSignature> signatures) throws IOException {
+        if (depth > MAX_FIELD_DEPTH) {
+            throw new IOException("Field tree is too deep");
+        }
+        if (fieldRef instanceof Ref ref && !visited.add(ref.number())) {
+            return;
+        }
+        Map<String, Object> field = dictionary(resolve(fieldRef));
+        if (field == null) {
+            return;
+        }
+
+        Object ownType = resolve(field.get("FT"));
+        String fieldType = ownType instanceof Name name ? name.value() : inheritedType;
+
+        if ("Sig".equals(fieldType)) {
+            Map<String, Object> value = dictionary(resolve(field.get("V")));
+            if (value != null) {
+                // Any of these entries may be an indirect object.
+                Map<String, Object> entries = new HashMap<>();
+                for (String key : SIGNATURE_ENTRIES) {
+                    entries.put(key, resolve(value.get(key)));
+                }
+                signatures.add(new ScannedSignature(entries));
+            }
+        }
+
+        if (resolve(field.get("Kids")) instanceof List<?> kids) {
+            for (Object kid : kids) {
+                Map<String, Object> kidField = dictionary(resolve(kid));
+                if (kidField != null && kidField.containsKey("T")) {
+                    collectSignatures(kid, fieldType, depth + 1, visited, signatures);
+                }
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------------------
+    // Cross-reference
+
+    private long findStartXref() throws IOException {
+        int limit = pdf.limit();
+        int from = Math.max(0, limit - TAIL_SIZE);
+        for (int i = limit - STARTXREF.length; i >= from; i--) {
+            if (matches(pdf, i, STARTXREF)) {
+                Lexer lexer = new Lexer(pdf, i + STARTXREF.length);
+                return lexer.readLong();
+            }
+        }
+        throw new IOException("startxref not found");
+    }
+
+    private void readXrefChain(long offset) throws IOException {
+        Set<Long> seen = new HashSet<>();
+        Long next = offset;
+        while (next != null) {
+            if (!seen.add(next) || seen.size() > MAX_XREF_SECTIONS) {
+                throw new IOException("Cross-reference chain loops");
+            }
+            Map<String, Object> sectionTrailer = readXrefSection(checkOffset(next));
+            if (trailer == null) {
+                trailer = sectionTrailer;
+            }
+            next = sectionTrailer.get("Prev") instanceof Number prev ? prev.longValue() : null;
+        }
+    }
+
+    /**
+     * Reads one cross-reference section and returns its trailer. Entries from newer sections
+     * are read first and win over older ones. In a hybrid section, in-use entries of the table
+     * win over its {@code /XRefStm}, while free table entries only apply to objects the stream
+     * does not list, because that is how objects in object streams are hidden from old readers.
+     */
+    private Map<String, Object> readXrefSection(int offset) throws IOException {
+        Lexer lexer = new Lexer(pdf, offset);
+        if (!lexer.peekKeyword("xref")) {
+            return readXrefStream(offset);
+        }
+        lexer.expectKeyword("xref");
+
+        List<Integer> freeEntries = new ArrayList<>();
+        while (!lexer.peekKeyword("trailer")) {
+            long first = lexer.readLong();
+            long count = lexer.readLong();
+            for (long i = 0; i < count; i++) {
+                long value = lexer.readLong();
+                lexer.readLong();
+                String type = lexer.readKeyword();
+                int number = (int) (first + i);
+                if ("n".equals(type)) {
+                    xref.putIfAbsent(number, new XrefEntry(1, value, 0));
+                } else if ("f".equals(type)) {
+                    freeEntries.add(number);
+                } else {
+                    throw new IOException("Invalid cross-reference entry type: " + type);
+                }
+            }
+        }
+        lexer.expectKeyword("trailer");
+        Map<String, Object> sectionTrailer = dictionary(lexer.readValue());
+        if (sectionTrailer == null) {
+            throw new IOException("Invalid trailer");
+        }
+
+        // Hybrid files list objects stored in object streams in a separate xref stream.
+        if (sectionTrailer.get("XRefStm") instanceof Number xrefStream) {
+            readXrefStream(checkOffset(xrefStream.longValue()));
+        }
+        for (int number : freeEntries) {
+            xref.putIfAbsent(number, new XrefEntry(0, 0, 0));
+        }
+        return sectionTrailer;
+    }
+
+    private Map<String, Object> readXrefStream(int offset) throws IOException {
+        Lexer lexer = new Lexer(pdf, offset);
+        lexer.readLong();
+        lexer.readLong();
+        lexer.expectKeyword("obj");
+        Map<String, Object> dictionary = dictionary(lexer.readValue());
+        if (dictionary == null || !(dictionary.get("Type") instanceof Name type)
+                || !"XRef".equals(type.value())) {
+            throw new IOException("Expected a cross-reference at offset " + offset);
+        }
+        byte[] data = lexer.readStream(dictionary, this);
+
+        List<?> widths = (List<?>) dictionary.get("W");
+        int w0 = ((Number) widths.get(0)).intValue();
+        int w1 = ((Number) widths.get(1)).intValue();
+        int w2 = ((Number) widths.get(2)).intValue();
+        int rowLength = w0 + w1 + w2;
+
+        List<?> index = dictionary.get("Index") instanceof List<?> list
+                ? list
+                : List.of(0L, ((Number) dictionary.get("Size")).longValue());
+
+        int position = 0;
+        for (int i = 0; i + 1 < index.size(); i += 2) {
+            long first = ((Number) index.get(i)).longValue();
+            long count = ((Number) index.get(i + 1)).longValue();
+            for (long j = 0; j < count; j++) {
+                if (position + rowLength > data.length) {
+                    throw new IOException("Cross-reference stream is truncated");
+                }
+                int entryType = w0 == 0 ? 1 : (int) readField(data, position, w0);
+                long field2 = readField(data, position + w0, w1);
+                long field3 = readField(data, position + w0 + w1, w2);
+                position += rowLength;
+                xref.putIfAbsent((int) (first + j), new XrefEntry(entryType, field2, (int) field3));
+            }
+        }
+        return dictionary;
+    }
+
+    private static long readField(byte[] data, int position, int width) {
+        long value = 0;
+        for (int i = 0; i < width; i++) {
+            value = (value << 8) | (data[position + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private int checkOffset(long offset) throws IOException {
+        if (offset < 0 || offset >= pdf.limit()) {
+            throw new IOException("Offset " + offset + " is outside of PDF content");
+        }
+        return (int) offset;
+    }
+
+    // ---------------------------------------------------------------------------------
+    // Objects
+
+    Object resolve(Object value) throws IOException {
+        int depth = 0;
+        while (value instanceof Ref ref) {
+            if (++depth > MAX_FIELD_DEPTH) {
+                throw new IOException("Reference chain is too long");
+            }
+            value = readObject(ref.number());
+        }
+        return value;
+    }
+
+    private Object readObject(int number) throws IOException {
+        XrefEntry entry = xref.get(number);
+        if (entry == null || entry.type() == 0) {
+            return null;
+        }
+        if (entry.type() == 2) {
+            return objectStream((int) entry.value()).get(entry.index());
+        }
+        if (entry.type() != 1) {
+            return null;
+        }
+
+        Lexer lexer = new Lexer(pdf, checkOffset(entry.value()));
+        if (lexer.readLong() != number) {
+            throw new IOException("Cross-reference entry for object " + number + " points elsewhere");
+        }
+        lexer.readLong();
+        lexer.expectKeyword("obj");
+        return lexer.readValue();
+    }
+
+    private ObjectStream objectStream(int number) throws IOException {
+        ObjectStream cached = objectStreams.get(number);
+        if (cached != null) {
+            return cached;
+        }
+        XrefEntry entry = xref.get(number);
+        if (entry == null || entry.type() != 1) {
+            throw new IOException("Object stream " + number + " not found");
+        }
+
+        Lexer lexer = new Lexer(pdf, checkOffset(entry.value()));
+        lexer.readLong();
+        lexer.readLong();
+        lexer.expectKeyword("obj");
+        Map<String, Object> dictionary = dictionary(lexer.readValue());
+        if (dictionary == null) {
+            throw new IOException("Invalid object stream " + number);
+        }
+        ObjectStream stream = new ObjectStream(
+                lexer.readStream(dictionary, this),
+                ((Number) dictionary.get("N")).intValue(),
+                ((Number) dictionary.get("First")).intValue());
+        objectStreams.put(number, stream);
+        return stream;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> dictionary(Object value) {
+        return value instanceof Map<?, ?> map ? (Map<String, Object>) map : null;
+    }
+
+    private static boolean matches(ByteBuffer buffer, int position, byte[] token) {
+        if (position < 0 || position + token.length > buffer.limit()) {
+            return false;
+        }
+        for (int i = 0; i < token.length; i++) {
+            if (buffer.get(position + i) != token[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record XrefEntry(int type, long value, int index) {
+    }
+
+    private record Ref(int number) {
+    }
+
+    private record Name(String value) {
+    }
+
+    /**
+     * Decoded object stream; its objects are parsed on request.
+     */
+    private static final class ObjectStream {
+
+        private final ByteBuffer data;
+        private final int[] offsets;
+
+        ObjectStream(byte[] data, int count, int first) throws IOException {
+            this.data = ByteBuffer.wrap(data);
+            this.offsets = new int[count];
+            Lexer header = new Lexer(this.data, 0);
+            for (int i = 0; i < count; i++) {
+                header.readLong();
+                offsets[i] = first + (int) header.readLong();
+            }
+        }
+
+        Object get(int index) throws IOException {
+            if (index < 0 || index >= offsets.length) {
+                throw new IOException("Object stream index " + index + " out of range");
+            }
+            return new Lexer(data, offsets[index]).readValue();
+        }
+    }
+
+    /**
+     * A string token, kept as a span of the source buffer until its value is needed.
+     */
+    private record RawString(ByteBuffer source, int start, int end, boolean hex) {
+
+        byte[] bytes() {
+            return hex ? decodeHex() : decodeLiteral();
+        }
+
+        String text() {
+            return new COSString(bytes()).getString();
+        }
+
+        private byte[] decodeHex() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream((end - start) / 2 + 1);
+            int high = -1;
+            for (int i = start; i < end; i++) {
+                int digit = Character.digit(source.get(i), 16);
+                if (digit < 0) {
+                    continue;
+                }
+                if (high < 0) {
+                    high = digit;
+                } else {
+                    out.write((high << 4) | digit);
+                    high = -1;
+                }
+            }
+            if (high >= 0) {
+                out.write(high << 4);
+            }
+            return out.toByteArray();
+        }
+
+        private byte[] decodeLiteral() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(end - start);
+            for (int i = start; i < end; i++) {
+                int c = source.get(i) & 0xFF;
+                if (c != '\\') {
+                    out.write(c);
+                    continue;
+                }
+                if (++i >= end) {
+                    break;
+                }
+                c = source.get(i) & 0xFF;
+                switch (c) {
+                    case 'n' -> out.write('\n');
+                    case 'r' -> out.write('\r');
+                    case 't' -> out.write('\t');
+                    case 'b' -> out.write('\b');
+                    case 'f' -> out.write('\f');
+                    case '\r' -> {
+                        // Line continuation.
+                        if (i + 1 < end && source.get(i + 1) == '\n') {
+                            i++;
+                        }
+                    }
+                    case '\n' -> {
+                        // Line continuation.
+                    }
+                    default -> {
+                        if (c >= '0' && c <= '7') {
+                            int value = c - '0';
+                            for (int n = 0; n < 2 && i + 1 < end; n++) {
+                                int next = source.get(i + 1);
+                                if (next < '0' || next > '7') {
+                                    break;
+                                }
+                                value = value * 8 + (next - '0');
+                                i++;
+                            }
+                            out.write(value & 0xFF);
+                        } else {
+                            out.write(c);
+                        }
+                    }
+                }
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Minimal PDF tokenizer reading values directly from a buffer.
+     */
+    private static final class Lexer {
+
+        private final ByteBuffer buffer;
+        private int position;
+
+        Lexer(ByteBuffer buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        Object readValue() throws IOException {
+            skipWhitespace();
+            int c = peek();
+            switch (c) {
+                case '/':
+                    position++;
+                    return new Name(readName());
+                case '<':
+                    if (peek(1) == '<') {
+                        position += 2;
+                        return readDictionary();
+                    }
+                    position++;
+                    return readHexString();
+                case '(':
+                    position++;
+                    return readLiteralString();
+                case '[':
+                    position++;
+                    return readArray();
+                default:
+                    break;
+            }
+            if (isNumberStart(c)) {
+                return readNumberOrReference();
+            }
+            String keyword = readKeyword();
+            return switch (keyword) {
+                case "true" -> Boolean.TRUE;
+                case "false" -> Boolean.FALSE;
+                case "null" -> null;
+                default -> throw new IOException("Unexpected token '" + keyword + "' at offset " + position);
+            };
+        }
+
+        long readLong() throws IOException {
+            skipWhitespace();
+            int start = position;
+            if (peek() == '+' || peek() == '-') {
+                position++;
+            }
+            while (position < buffer.limit() && isDigit(buffer.get(position))) {
+                position++;
+            }
+            if (position == start) {
+                throw new IOException("Expected a number at offset " + start);
+            }
+            try {
+                return Long.parseLong(ascii(start, position));
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid number at offset " + start, e);
+            }
+        }
+
+        String readKeyword() throws IOException {
+            skipWhitespace();
+            int start = position;
+            while (position < buffer.limit() && isRegular(buffer.get(position))) {
+                position++;
+            }
+            if (position == start) {
+                throw new IOException("Expected a keyword at offset " + start);
+            }
+            return ascii(start, position);
+        }
+
+        boolean peekKeyword(String keyword) throws IOException {
+            skipWhitespace();
+            byte[] token = keyword.getBytes(StandardCharsets.US_ASCII);
+            int after = position + token.length;
+            return matches(buffer, position, token)
+                    && (after >= buffer.limit() || !isRegular(buffer.get(after)));
+        }
+
+        void expectKeyword(String keyword) throws IOException {
+            String actual = readKeyword();
+            if (!keyword.equals(actual)) {
+                throw new IOException("Expected '" + keyword + "' but found '" + actual + "'");
+            }
+        }
+
+        /**
+         * Reads and decodes the stream that follows a stream object's dictionary.
+         */
+        byte[] readStream(Map<String, Object> dictionary, PdfSignatureScanner scanner) throws IOException {
+            expectKeyword("stream");
+            if (peek() == '\r') {
+                position++;
+            }
+            if (peek() == '\n') {
+                position++;
+            }
+            if (!(scanner.resolve(dictionary.get("Length")) instanceof Number length)
+                    || length.longValue() < 0 || position + length.longValue() > buffer.limit()) {
+                throw new IOException("Invalid stream length");
+            }
+            byte[] raw = new byte[length.intValue()];
+            buffer.get(position, raw);
+            position += raw.length;
+            return StreamDecoder.decode(raw, scanner.resolve(dictionary.get("Filter")),
+                    scanner.resolve(dictionary.get("DecodeParms")));
+        }
+
+        private Map<String, Object> readDictionary() throws IOException {
+            Map<String, Object> dictionary = new LinkedHashMap<>();
+            while (true) {
+                skipWhitespace();
+                if (peek() == '>' && peek(1) == '>') {
+                    position += 2;
+                    return dictionary;
+                }
+                if (peek() != '/') {
+                    throw new IOException("Expected a dictionary key at offset " + position);
+                }
+                position++;
+                String key = readName();
+                dictionary.put(key, readValue());
+            }
+        }
+
+        private List<Object> readArray() throws IOException {
+            List<Object> array = new ArrayList<>();
+            while (true) {
+                skipWhitespace();
+                if (peek() == ']') {
+                    position++;
+                    return array;
+                }
+                array.add(readValue());
+            }
+        }
+
+        private String readName() {
+            ByteArrayOutputStream name = new ByteArrayOutputStream();
+            while (position < buffer.limit() && isRegular(buffer.get(position))) {
+                int c = buffer.get(position++);
+                if (c == '#' && position + 1 < buffer.limit()) {
+                    int high = Character.digit(buffer.get(position), 16);
+                    int low = Character.digit(buffer.get(position + 1), 16);
+                    if (high >= 0 && low >= 0) {
+                        c = (high << 4) | low;
+                        position += 2;
+                    }
+                }
+                name.write(c);
+            }
+            return name.toString(StandardCharsets.UTF_8);
+        }
+
+        private RawString readHexString() throws IOException {
+            int start = position;
+            while (peek() != '>') {
+                position++;
+            }
+            int end = position++;
+            return new RawString(buffer, start, end, true);
+        }
+
+        private RawString readLiteralString() throws IOException {
+            int start = position;
+            int depth = 1;
+            while (true) {
+                int c = peek();
+                position++;
+                if (c == '\\') {
+                    position++;
+                } else if (c == '(') {
+                    depth++;
+                } else if (c == ')' && --depth == 0) {
+                    return new RawString(buffer, start, position - 1, false);
+                }
+            }
+        }
+
+        /**
+         * Reads a number, or an indirect reference when it is followed by
+         * {@code <generation> R}.
+         */
+        private Object readNumberOrReference() throws IOException {
+            int start = position;
+            while (position < buffer.limit() && isNumberChar(buffer.get(position))) {
+                position++;
+            }
+            String token = ascii(start, position);
+            if (token.indexOf('.') >= 0) {
+                try {
+                    return Double.parseDouble(token);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid number at offset " + start, e);
+                }
+            }
+            long value;
+            try {
+                value = Long.parseLong(token);
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid number at offset " + start, e);
+            }
+
+            int afterNumber = position;
+            skipWhitespace();
+            if (position < buffer.limit() && isDigit(buffer.get(position))) {
+                int generationStart = position;
+                while (position < buffer.limit() && isDigit(buffer.get(position))) {
+                    position++;
+                }
+                if (position > generationStart) {
+                    skipWhitespace();
+                    if (position < buffer.limit() && buffer.get(position) == 'R'
+                            && (position + 1 >= buffer.limit() || !isRegular(buffer.get(position + 1)))) {
+                        position++;
+                        return new Ref((int) value);
+                    }
+                }
+            }
+            position = afterNumber;
+            return value;
+        }
+
+        private void skipWhitespace() {
+            while (position < buffer.limit()) {
+                int c = buffer.get(position);
+                if (c == '%') {
+                    while (position < buffer.limit() && buffer.get(position) != '\n' && buffer.get(position) != '\r') {
+                        position++;
+                    }
+                } else if (isWhitespace(c)) {
+                    position++;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private int peek() throws IOException {
+            return peek(0);
+        }
+
+        private int peek(int ahead) throws IOException {
+            if (position + ahead >= buffer.limit()) {
+                throw new IOException("Unexpected end of PDF content");
+            }
+            return buffer.get(position + ahead) & 0xFF;
+        }
+
+        private String ascii(int start, int end) {
+            byte[] bytes = new byte[end - start];
+            buffer.get(start, bytes);
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+
+        private static boolean isWhitespace(int c) {
+            return c == 0 || c == '\t' || c == '\n' || c == '\f' || c == '\r' || c == ' ';
+        }
+
+        private static boolean isDelimiter(int c) {
+            return c == '(' || c == ')' || c == '<' || c == '>' || c == '[' || c == ']'
+                    || c == '{' || c == '}' || c == '/' || c == '%';
+        }
+
+        private static boolean isRegular(int c) {
+            return !isWhitespace(c) && !isDelimiter(c);
+        }
+
+        private static boolean isDigit(int c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private static boolean isNumberStart(int c) {
+            return isDigit(c) || c == '+' || c == '-' || c == '.';
+        }
+
+        private static boolean isNumberChar(int c) {
+            return isNumberStart(c);
+        }
+    }
+
+    /**
+     * Decodes the stream filters found on cross-reference and object streams:
+     * FlateDecode, optionally with PNG predictors.
+     */
+    private static final class StreamDecoder {
+
+        static byte[] decode(byte[] raw, Object filter, Object parameters) throws IOException {
+            List<?> filters = filter instanceof List<?> list ? list : filter == null ? List.of() : List.of(filter);
+            List<?> parameterList = parameters instanceof List<?> list ? list : Collections.singletonList(parameters);
+
+            byte[] data = raw;
+            for (int i = 0; i < filters.size(); i++) {
+                if (!(filters.get(i) instanceof Name name) || !"FlateDecode".equals(name.value())) {
+                    throw new IOException("Unsupported stream filter: " + filters.get(i));
+                }
+                data = inflate(data);
+                Object parameter = i < parameterList.size() ? parameterList.get(i) : null;
+                data = applyPredictor(data, dictionary(parameter));
+            }
+            return data;
+        }
+
+        private static byte[] inflate(byte[] data) throws IOException {
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(data);
+                ByteArrayOutputStream out = new ByteArrayOutputStream(
+                        (int) Math.min((long) data.length * 4, MAX_DECODED_STREAM_SIZE));
+                byte[] chunk = new byte[8192];
+                while (!inflater.finished()) {
+                    int count = inflater.inflate(chunk);
+                    if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    if (out.size() + count > MAX_DECODED_STREAM_SIZE) {
+                        throw new IOException("Decoded stream exceeds " + MAX_DECODED_STREAM_SIZE + " bytes");
+                    }
+                    out.write(chunk, 0, count);
+                }
+                return out.toByteArray();
+            } catch (DataFormatException e) {
+                throw new IOException("Invalid FlateDecode stream: " + e.getMessage(), e);
+            } finally {
+                inflater.end();
+            }
+        }
+
+        private static byte[] applyPredictor(byte[] data, Map<String, Object> parameters) throws IOException {
+            int predictor = intParameter(parameters, "Predictor", 1);
+            if (predictor == 1) {
+                return data;
+            }
+            if (predictor < 10) {
+                throw new IOException("Unsupported predictor: " + predictor);
+            }
+
+            int colors = intParameter(parameters, "Colors", 1);
+            int bitsPerComponent = intParameter(parameters, "BitsPerComponent", 8);
+            int columns = intParameter(parameters, "Columns", 1);
+            int bytesPerPixel = Math.max(1, colors * bitsPerComponent / 8);
+            int rowLength = (colors * bitsPerComponent * columns + 7) / 8;
+
+            int rows = data.length / (rowLength + 1);
+            byte[] out = new byte[rows * rowLength];
+            for (int row = 0; row < rows; row++) {
+                int in = row * (rowLength + 1);
+                int type = data[in++] & 0xFF;
+                int base = row * rowLength;
+                for (int x = 0; x < rowLength; x++) {
+                    int raw = data[in + x] & 0xFF;
+                    int left = x >= bytesPerPixel ? out[base + x - bytesPerPixel] & 0xFF : 0;
+                    int up = row > 0 ? out[base - rowLength + x] & 0xFF : 0;
+                    int upLeft = row > 0 && x >= bytesPerPixel ? out[base - rowLength + x - bytesPerPixel] & 0xFF : 0;
+                    int value = switch (type) {
+                        case 0 -> raw;
+                        case 1 -> raw + left;
+                        case 2 -> raw + up;
+                        case 3 -> raw + ((left + up) >>> 1);
+                        case 4 -> raw + paeth(left, up, upLeft);
+                        default -> throw new IOException("Invalid PNG predictor row type: " + type);
+                    };
+                    out[base + x] = (byte) value;
+                }
+            }
+            return out;
+        }
+
+        private static int paeth(int left, int up, int upLeft) {
+            int estimate = left + up - upLeft;
+            int distanceLeft = Math.abs(estimate - left);
+            int distanceUp = Math.abs(estimate - up);
+            int distanceUpLeft = Math.abs(estimate - upLeft);
+            if (distanceLeft <= distanceUp && distanceLeft <= distanceUpLeft) {
+                return left;
+            }
+            return distanceUp <= distanceUpLeft ? up : upLeft;
+        }
+
+        private static int intParameter(Map<String, Object> parameters, String key, int defaultValue) {
+            return parameters != null && parameters.get(key) instanceof Number number
+                    ? number.intValue()
+                    : defaultValue;
+        }
+    }
+
+    /**
+     * A signature dictionary found by the scanner. Text entries are decoded up front; the
+     * CMS {@code /Contents} is only decoded when requested.
+     */
+    public static final class ScannedSignature {
+
+        private final String name;
+        private final String location;
+        private final String reason;
+        private final String signDate;
+        private final String subFilter;
+        private final RawString contents;
+
+        private ScannedSignature(Map<String, Object> dictionary) {
+            this.name = text(dictionary.get("Name"));
+            this.location = text(dictionary.get("Location"));
+            this.reason = text(dictionary.get("Reason"));
+            this.signDate = text(dictionary.get("M"));
+            this.subFilter = dictionary.get("SubFilter") instanceof Name value ? value.value() : null;
+            this.contents = dictionary.get("Contents") instanceof RawString value ? value : null;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        /**
+         * Signing time from {@code /M}, or {@code null} if absent or unparseable.
+         */
+        public Calendar getSignDate() {
+            return signDate != null ? DateConverter.toCalendar(signDate) : null;
+        }
+
+        public String getSubFilter() {
+            return subFilter;
+        }
+
+        /**
+         * Decoded {@code /Contents} (the CMS signature, including trailing padding), or
+         * {@code null} if the dictionary has none.
+         */
+        public byte[] getContents() {
+            return contents != null ? contents.bytes() : null;
+        }
+
+        private static String text(Object value) {
+            return value instanceof RawString string ? string.text() : null;
+        }
+    }
+}
@@ -1,14 +1,46 @@
 package com.example.eSign.service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Per-endpoint request counters stored in Redis.
+ * <p>
+ * Increments are accumulated in memory and written to Redis every
+ * {@code app.api-counter.flush-interval} as one batch of {@code INCRBY} commands, so counting
+ * never blocks a request on Redis. Counts read on a node include its own unflushed
+ * increments; other nodes' increments appear after their next flush. Pending counts are
+ * flushed once more on shutdown.
+ * <p>
+ * Each key has its own {@link LongAdder}, so concurrent requests to one endpoint do not
+ * contend on a lock. An adder that stays empty for a whole flush interval is evicted, so keys
+ * that stop receiving requests do not linger.
+ * <p>
+ * Each batch runs as one script that first sets a marker key for the batch, so it is applied
+ * to Redis completely or not at all. A batch that fails is retried as-is with the same
+ * marker, which means a batch that was applied but whose reply was lost is not counted twice.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -16,26 +48,66 @@ public class ApiCounterService {
 
     private final RedisTemplate<String, String> redisTemplate;
     private static final String KEY_PREFIX = "api:count:";
+    private static final String BATCH_KEY_PREFIX = "api:count-batch:";
+    private static final long BATCH_MARKER_TTL_SECONDS = 3600;
+
+    // KEYS[1] marks the batch as applied; KEYS[i] is incremented by ARGV[i] for i > 1.
+    private static final RedisScript<Long> FLUSH_SCRIPT = new DefaultRedisScript<>(
+            "if not redis.call('SET', KEYS[1], '1', 'NX', 'EX', ARGV[1]) then return 0 end "
+                    + "for i = 2, #KEYS do redis.call('INCRBY', KEYS[i], ARGV[i]) end return 1",
+            Long.class);
+
+    @Value("${app.api-counter.flush-interval:1s}")
+    private Duration flushInterval;
+
+    private final Map<String, LongAdder> pending = new ConcurrentHashMap<>();
+    // Keys whose adder was empty at the last flush; only used by flush().
+    private final Set<String> idleKeys = new HashSet<>();
+    private final String nodeId = UUID.randomUUID().toString();
+    private long batchSequence;
+    // Batch being written or last failed; still counted by reads until Redis confirms it.
+    private volatile Batch unconfirmedBatch;
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "esign-api-counter-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        flushQuietly();
+    }
 
     public void increment(String method, String path) {
         String key = KEY_PREFIX + method + ":" + path;
-        
-        // Try to set key to 1 if it doesn't exist (atomic operation)
-        Boolean wasAbsent = redisTemplate.opsForValue().setIfAbsent(key, "1");
-        
-        if (Boolean.FALSE.equals(wasAbsent)) {
-            // Key already exists - increment it
-            redisTemplate.opsForValue().increment(key);
-            log.debug("Incremented counter for {} {}", method, path);
-        } else {
-            log.debug("Created new counter for {} {}", method, path);
+        LongAdder adder = pending.get(key);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(key, k -> new LongAdder());
+        }
+        adder.increment();
+        if (pending.get(key) != adder) {
+            // Evicted as idle while we were counting; the flush that evicted it only took
+            // what it held at that point, so put the adder back where flushes will see it.
+            LongAdder current = pending.putIfAbsent(key, adder);
+            if (current != null && current != adder) {
+                current.add(adder.sumThenReset());
+            }
         }
     }
 
     public Long getCount(String method, String path) {
         String key = KEY_PREFIX + method + ":" + path;
         String value = redisTemplate.opsForValue().get(key);
-        return value != null ? Long.parseLong(value) : 0L;
+        return (value != null ? Long.parseLong(value) : 0L) + pendingCount(key);
     }
 
     public Map<String, Long> getAllCounts() {
@@ -48,7 +120,84 @@ public class ApiCounterService {
                 counts.put(apiKey, value != null ? Long.parseLong(value) : 0L);
             }
         }
+        Map<String, Long> unflushed = new HashMap<>();
+        pending.forEach((key, adder) -> unflushed.put(key, adder.sum()));
+        Batch unconfirmed = unconfirmedBatch;
+        if (unconfirmed != null) {
+            unconfirmed.deltas().forEach((key, delta) -> unflushed.merge(key, delta, Long::sum));
+        }
+        unflushed.forEach((key, delta) -> counts.merge(key.replace(KEY_PREFIX, ""), delta, Long::sum));
         return counts;
     }
-}
 
+    /**
+     * Writes pending increments to Redis in one batch. A batch left over from a failed flush
+     * is retried first, unchanged.
+     */
+    public synchronized void flush() {
+        Batch retry = unconfirmedBatch;
+        if (retry != null) {
+            write(retry);
+        }
+
+        Map<String, Long> deltas = new HashMap<>();
+        for (Map.Entry<String, LongAdder> entry : pending.entrySet()) {
+            String key = entry.getKey();
+            LongAdder adder = entry.getValue();
+            long delta = adder.sumThenReset();
+            if (delta == 0 && idleKeys.remove(key)) {
+                // Empty across a whole interval: evict it, then take anything counted in the
+                // meantime. Increments that land after this see the eviction and re-insert.
+                pending.remove(key, adder);
+                delta = adder.sumThenReset();
+            } else if (delta == 0) {
+                idleKeys.add(key);
+            } else {
+                idleKeys.remove(key);
+            }
+            if (delta != 0) {
+                deltas.put(key, delta);
+            }
+        }
+        if (!deltas.isEmpty()) {
+            Batch batch = new Batch(BATCH_KEY_PREFIX + nodeId + ":" + (++batchSequence), deltas);
+            unconfirmedBatch = batch;
+            write(batch);
+        }
+    }
+
+    private void write(Batch batch) {
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        keys.add(batch.id());
+        args.add(Long.toString(BATCH_MARKER_TTL_SECONDS));
+        batch.deltas().forEach((key, delta) -> {
+            keys.add(key);
+            args.add(Long.toString(delta));
+        });
+
+        Long applied = redisTemplate.execute(FLUSH_SCRIPT, keys, args.toArray());
+        unconfirmedBatch = null;
+        log.debug("Flushed {} API counter(s){}", batch.deltas().size(),
+                applied != null && applied == 0 ? " (already applied)" : "");
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // A failed flush must not cancel the scheduled flush task.
+            log.warn("Failed to flush API counters to Redis: {}", e.getMessage());
+        }
+    }
+
+    private long pendingCount(String key) {
+        LongAdder adder = pending.get(key);
+        long count = adder != null ? adder.sum() : 0L;
+        Batch unconfirmed = unconfirmedBatch;
+        return unconfirmed != null ? count + unconfirmed.deltas().getOrDefault(key, 0L) : count;
+    }
+
+    private record Batch(String id, Map<String, Long> deltas) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.eSign.service;
+
+import com.example.eSign.dto.BulkFileOperationEvent;
+import com.example.eSign.dto.BulkFileOperationRequest;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Base64 encodes or decodes every matching file of a directory concurrently.
+ * <p>
+ * Completed files are recorded in a checkpoint file in the target directory, so a run that
+ * is interrupted resumes where it stopped when the same request is repeated.
+ */
+public interface BulkFileOperationService {
+
+    /**
+     * Check a request before starting a run.
+     *
+     * @throws IllegalArgumentException if the request is incomplete or the source directory does not exist
+     */
+    void validate(BulkFileOperationRequest request);
+
+    /**
+     * Encode every matching file to {@code <name>.b64} in the target directory.
+     *
+     * @param request directories and glob
+     * @param events  receives a {@code FILE} event per processed file and a final {@code SUMMARY};
+     *                called from worker threads, one event at a time
+     * @return the summary event
+     */
+    BulkFileOperationEvent encodeDirectory(BulkFileOperationRequest request,
+                                           Consumer<BulkFileOperationEvent> events) throws IOException;
+
+    /**
+     * Decode every matching file into the target directory, dropping a {@code .b64}
+     * extension from the output name (other files get {@code .bin} appended).
+     *
+     * @param request directories and glob
+     * @param events  receives a {@code FILE} event per processed file and a final {@code SUMMARY};
+     *                called from worker threads, one event at a time
+     * @return the summary event
+     */
+    BulkFileOperationEvent decodeDirectory(BulkFileOperationRequest request,
+                                           Consumer<BulkFileOperationEvent> events) throws IOException;
+}
@@ -1,13 +1,20 @@
 package com.example.eSign.service;
 
+import com.example.eSign.dto.PdfHashPrepareResponse;
+import com.example.eSign.dto.PdfHashSignRequest;
+import com.example.eSign.dto.PdfHashSignResponse;
 import com.example.eSign.dto.PdfSignBase64Request;
+import com.example.eSign.dto.PdfSignBatchResponse;
 import com.example.eSign.dto.PdfSignResponse;
+import com.example.eSign.dto.PdfSignedContent;
 import com.example.eSign.dto.PdfSignatureInfo;
 import com.example.eSign.dto.PdfSignatureListResponse;
 import com.example.eSign.dto.SignerInfoResponse;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface PdfSigningService {
@@ -21,6 +28,28 @@ public interface PdfSigningService {
      */
     byte[] signPdf(byte[] pdfBytes) throws IOException;
 
+    /**
+     * Sign a PDF with the signing identity registered under {@code alias}.
+     *
+     * @param pdfBytes original PDF bytes
+     * @param alias    keystore alias; if null/blank, the default alias is used
+     * @return signed PDF bytes
+     * @throws IOException if PDF processing fails
+     */
+    byte[] signPdf(byte[] pdfBytes, String alias) throws IOException;
+
+    /**
+     * Sign a PDF read from a stream and write the signed PDF to the given output.
+     * <p>
+     * Nothing is written to {@code output} unless signing succeeds.
+     *
+     * @param pdfStream original PDF content
+     * @param output    destination for the signed PDF
+     * @param alias     keystore alias; if null/blank, the default alias is used
+     * @throws IOException if PDF processing fails
+     */
+    void signPdf(InputStream pdfStream, OutputStream output, String alias) throws IOException;
+
     /**
      * Extract digital signatures present on a PDF document.
      *
@@ -38,6 +67,25 @@ public interface PdfSigningService {
      */
     PdfSignResponse signPdfFromBase64(PdfSignBase64Request request) throws IOException;
 
+    /**
+     * Sign a PDF provided as base64 in the request, keeping the signed PDF as raw bytes so
+     * it can be base64-encoded while the response is written.
+     *
+     * @param request base64 PDF request
+     * @return signed content in the JSON shape of {@link PdfSignResponse}
+     */
+    PdfSignedContent signPdfContentFromBase64(PdfSignBase64Request request) throws IOException;
+
+    /**
+     * Sign several base64 PDFs concurrently on the shared signing executor.
+     * <p>
+     * Failures are reported per document; one failing document does not fail the batch.
+     *
+     * @param requests base64 PDF requests
+     * @return per-document results in submission order
+     */
+    PdfSignBatchResponse signPdfBatchFromBase64(List<PdfSignBase64Request> requests);
+
     /**
      * Extract signatures from a base64 PDF request and return response DTO.
      *
@@ -46,13 +94,67 @@ public interface PdfSigningService {
      */
     PdfSignatureListResponse getSignaturesFromBase64(PdfSignBase64Request request) throws IOException;
 
+    /**
+     * Extract signatures from an uploaded PDF file and return response DTO.
+     *
+     * @param file multipart PDF file
+     * @return list response payload, including message when unsigned
+     */
+    PdfSignatureListResponse getSignaturesFromFile(MultipartFile file) throws IOException;
+
+    /**
+     * Extract signatures from a PDF read from a stream, such as a raw request body.
+     *
+     * @param pdfStream PDF content; not closed by this method
+     * @param sizeHint  content length if known, otherwise a negative value
+     * @return list response payload, including message when unsigned
+     */
+    PdfSignatureListResponse getSignatures(InputStream pdfStream, long sizeHint) throws IOException;
+
     /**
      * Sign a PDF uploaded as multipart file and return response DTO.
      *
+     * @param file  multipart PDF file
+     * @param alias keystore alias; if null/blank, the default alias is used
+     * @return signed content in the JSON shape of {@link PdfSignResponse}
+     */
+    PdfSignedContent signPdfFile(MultipartFile file, String alias) throws IOException;
+
+    /**
+     * Sign a PDF uploaded as multipart file and stream the signed PDF to the given output.
+     *
+     * @param file   multipart PDF file
+     * @param output destination for the signed PDF
+     * @param alias  keystore alias; if null/blank, the default alias is used
+     */
+    void signPdfFile(MultipartFile file, OutputStream output, String alias) throws IOException;
+
+    /**
+     * Suggested filename for the signed version of an uploaded PDF.
+     *
      * @param file multipart PDF file
-     * @return signing response payload
+     * @return filename ending in {@code _signed.pdf}
+     */
+    String getSignedFileName(MultipartFile file);
+
+    /**
+     * Prepare a base64 PDF for hash-only signing.
+     * <p>
+     * Adds the signature dictionary with an empty {@code /Contents} placeholder and returns
+     * the prepared PDF, its signature byte range and the digest of that byte range.
+     *
+     * @param request base64 PDF request
+     * @return prepared PDF and the digest to sign
+     */
+    PdfHashPrepareResponse prepareHashSigning(PdfSignBase64Request request) throws IOException;
+
+    /**
+     * Create a detached CMS signature over a client-computed digest of a prepared PDF.
+     *
+     * @param request digest of the prepared PDF's byte range
+     * @return CMS signature to embed in the PDF's {@code /Contents} placeholder
      */
-    PdfSignResponse signPdfFile(MultipartFile file) throws IOException;
+    PdfHashSignResponse signHash(PdfHashSignRequest request) throws IOException;
 
     /**
      * Returns signer details derived from the certificate stored in the keystore.
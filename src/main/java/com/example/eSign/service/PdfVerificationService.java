@@ -3,7 +3,10 @@ package com.example.eSign.service;
 import com.example.eSign.dto.PdfSignBase64Request;
 import com.example.eSign.dto.PdfVerificationResult;
 
+import org.springframework.web.multipart.MultipartFile;
+
 import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Service responsible for verifying PDF digital signatures.
@@ -17,6 +20,21 @@ public interface PdfVerificationService {
      * @return verification result with per-signature details
      */
     PdfVerificationResult verifyPdfFromBase64(PdfSignBase64Request request) throws IOException;
-}
 
+    /**
+     * Verify signatures present on an uploaded PDF file.
+     *
+     * @param file multipart PDF upload
+     * @return verification result with per-signature details
+     */
+    PdfVerificationResult verifyPdfFile(MultipartFile file) throws IOException;
 
+    /**
+     * Verify signatures present on a PDF read from a stream, such as a raw request body.
+     *
+     * @param pdfStream PDF content; not closed by this method
+     * @param sizeHint  content length if known, otherwise a negative value
+     * @return verification result with per-signature details
+     */
+    PdfVerificationResult verifyPdf(InputStream pdfStream, long sizeHint) throws IOException;
+}
@@ -0,0 +1,26 @@
+package com.example.eSign.service;
+
+import com.example.eSign.dto.SigningJobRequest;
+import com.example.eSign.dto.SigningJobResponse;
+
+/**
+ * Service for submitting and tracking asynchronous signing jobs.
+ */
+public interface SigningJobService {
+
+    /**
+     * Queue a document for signing.
+     *
+     * @param request document and optional callback URL
+     * @return the queued job, including its id
+     */
+    SigningJobResponse submit(SigningJobRequest request);
+
+    /**
+     * Look up a job; the signed document is included once the job has completed.
+     *
+     * @param jobId job identifier returned by {@link #submit(SigningJobRequest)}
+     * @return current job state
+     */
+    SigningJobResponse getJob(String jobId);
+}
@@ -0,0 +1,302 @@
+package com.example.eSign.service.impl;
+
+import com.example.eSign.dto.BulkFileOperationEvent;
+import com.example.eSign.dto.BulkFileOperationRequest;
+import com.example.eSign.dto.FileOperationRequest;
+import com.example.eSign.dto.FileOperationResponse;
+import com.example.eSign.service.BulkFileOperationService;
+import com.example.eSign.service.FileOperationService;
+import com.example.eSign.util.BoundedFanOut;
+import com.example.eSign.util.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkFileOperationServiceImpl implements BulkFileOperationService {
+
+    private static final String ENCODED_EXTENSION = ".b64";
+    private static final String DECODED_EXTENSION = ".bin";
+    private static final String CHECKPOINT_PREFIX = ".esign-";
+
+    private final FileOperationService fileOperationService;
+    private final ThreadPoolTaskExecutor fileExecutor;
+
+    @Value("${app.file.bulk.parallelism:4}")
+    private int parallelism;
+
+    @Override
+    public void validate(BulkFileOperationRequest request) {
+        if (request == null || request.getSourceDirectory() == null || request.getTargetDirectory() == null) {
+            throw new IllegalArgumentException(Constants.BULK_FIELDS_REQUIRED);
+        }
+        if (!Files.isDirectory(Path.of(request.getSourceDirectory()))) {
+            throw new IllegalArgumentException(
+                    String.format(Constants.BULK_SOURCE_NOT_DIRECTORY, request.getSourceDirectory()));
+        }
+    }
+
+    @Override
+    public BulkFileOperationEvent encodeDirectory(BulkFileOperationRequest request,
+                                                  Consumer<BulkFileOperationEvent> events) throws IOException {
+        return run(request, false, events);
+    }
+
+    @Override
+    public BulkFileOperationEvent decodeDirectory(BulkFileOperationRequest request,
+                                                  Consumer<BulkFileOperationEvent> events) throws IOException {
+        return run(request, true, events);
+    }
+
+    private BulkFileOperationEvent run(BulkFileOperationRequest request, boolean decode,
+                                       Consumer<BulkFileOperationEvent> events) throws IOException {
+        validate(request);
+        Path source = Path.of(request.getSourceDirectory());
+        Path target = Path.of(request.getTargetDirectory());
+        Files.createDirectories(target);
+
+        long start = System.nanoTime();
+        List<Path> files = listFiles(source, request.getGlob());
+        Path checkpointFile = target.resolve(CHECKPOINT_PREFIX + (decode ? "decode" : "encode") + ".checkpoint");
+        if (request.isRestart()) {
+            Files.deleteIfExists(checkpointFile);
+        }
+
+        log.info("Bulk {} of {} file(s) from {} to {}", decode ? "decode" : "encode", files.size(), source, target);
+
+        try (Checkpoint checkpoint = new Checkpoint(checkpointFile)) {
+            Progress progress = new Progress(files.size(), events);
+
+            BoundedFanOut<Void> fanOut = new BoundedFanOut<>(fileExecutor, parallelism);
+
+            for (Path file : files) {
+                Path output = target.resolve(outputName(file.getFileName().toString(), decode));
+                String fingerprint = fingerprint(file);
+                if (fingerprint.equals(checkpoint.get(file.getFileName().toString())) && Files.exists(output)) {
+                    progress.skipped();
+                    continue;
+                }
+                if (progress.isCancelled()) {
+                    break;
+                }
+
+                Supplier<Void> task = () -> {
+                    processFile(file, output, fingerprint, decode, checkpoint, progress);
+                    return null;
+                };
+                fanOut.submit(task, task);
+            }
+
+            fanOut.join();
+            return progress.summary(System.nanoTime() - start);
+        }
+    }
+
+    private void processFile(Path input, Path output, String fingerprint, boolean decode,
+                             Checkpoint checkpoint, Progress progress) {
+        if (progress.isCancelled()) {
+            return;
+        }
+
+        FileOperationRequest fileRequest = new FileOperationRequest();
+        fileRequest.setInputFileName(input.toString());
+        fileRequest.setOutputFileName(output.toString());
+
+        FileOperationResponse response;
+        try {
+            response = decode
+                    ? fileOperationService.decodeFile(fileRequest)
+                    : fileOperationService.encodeFile(fileRequest);
+        } catch (RuntimeException e) {
+            log.error("Unexpected error processing {}", input, e);
+            response = new FileOperationResponse(Constants.FAILURE, null, input.toString(), output.toString(),
+                    String.format(Constants.UNEXPECTED_ERROR, e.getMessage()));
+        }
+
+        if (Boolean.TRUE.equals(response.getSuccess())) {
+            try {
+                checkpoint.record(input.getFileName().toString(), fingerprint);
+            } catch (IOException e) {
+                log.warn("Failed to checkpoint {}: {}", input, e.getMessage());
+            }
+        }
+        progress.finished(response);
+    }
+
+    private List<Path> listFiles(Path source, String glob) throws IOException {
+        List<Path> files = new ArrayList<>();
+        String pattern = glob == null || glob.isBlank() ? "*" : glob;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(source, pattern)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file) && !file.getFileName().toString().startsWith(CHECKPOINT_PREFIX)) {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort(null);
+        return files;
+    }
+
+    private static String outputName(String inputName, boolean decode) {
+        if (!decode) {
+            return inputName + ENCODED_EXTENSION;
+        }
+        return inputName.endsWith(ENCODED_EXTENSION)
+                ? inputName.substring(0, inputName.length() - ENCODED_EXTENSION.length())
+                : inputName + DECODED_EXTENSION;
+    }
+
+    /**
+     * Identifies a version of a source file, so files changed since the checkpoint are redone.
+     */
+    private static String fingerprint(Path file) throws IOException {
+        return Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis();
+    }
+
+    /**
+     * Append-only record of completed files, one {@code <name>\t<fingerprint>} line each.
+     * Lines are flushed as they are written so progress survives a crash.
+     */
+    private static final class Checkpoint implements AutoCloseable {
+
+        private final Map<String, String> completed = new HashMap<>();
+        private final BufferedWriter writer;
+
+        Checkpoint(Path file) throws IOException {
+            if (Files.exists(file)) {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    int separator = line.lastIndexOf('\t');
+                    if (separator > 0) {
+                        completed.put(line.substring(0, separator), line.substring(separator + 1));
+                    }
+                }
+            }
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+
+        String get(String name) {
+            return completed.get(name);
+        }
+
+        synchronized void record(String name, String fingerprint) throws IOException {
+            writer.write(name);
+            writer.write('\t');
+            writer.write(fingerprint);
+            writer.newLine();
+            writer.flush();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Run counters and the event sink. Events are delivered one at a time; if the sink fails
+     * (for example because the client disconnected) the run is cancelled and files not yet
+     * started are left for the next run.
+     */
+    private static final class Progress {
+
+        private final int total;
+        private final Consumer<BulkFileOperationEvent> events;
+        private int processed;
+        private int skipped;
+        private int failed;
+        private long bytesRead;
+        private long bytesWritten;
+        private volatile boolean cancelled;
+
+        Progress(int total, Consumer<BulkFileOperationEvent> events) {
+            this.total = total;
+            this.events = events;
+        }
+
+        synchronized void skipped() {
+            skipped++;
+        }
+
+        synchronized void finished(FileOperationResponse response) {
+            boolean success = Boolean.TRUE.equals(response.getSuccess());
+            if (success) {
+                processed++;
+                bytesRead += response.getBytesRead() != null ? response.getBytesRead() : 0;
+                bytesWritten += response.getBytesWritten() != null ? response.getBytesWritten() : 0;
+            } else {
+                failed++;
+            }
+
+            BulkFileOperationEvent event = new BulkFileOperationEvent();
+            event.setType(BulkFileOperationEvent.TYPE_FILE);
+            event.setInputFile(response.getInputFile());
+            event.setOutputFile(response.getOutputFile());
+            event.setSuccess(success);
+            event.setError(response.getError());
+            event.setBytesRead(response.getBytesRead());
+            event.setBytesWritten(response.getBytesWritten());
+            event.setDurationMs(response.getDurationMs());
+            event.setThroughputMbPerSecond(response.getThroughputMbPerSecond());
+            event.setCompleted(processed + skipped + failed);
+            event.setTotal(total);
+            emit(event);
+        }
+
+        synchronized BulkFileOperationEvent summary(long durationNanos) {
+            BulkFileOperationEvent event = new BulkFileOperationEvent();
+            event.setType(BulkFileOperationEvent.TYPE_SUMMARY);
+            event.setSuccess(failed == 0 && !cancelled);
+            event.setCompleted(processed + skipped + failed);
+            event.setTotal(total);
+            event.setProcessed(processed);
+            event.setSkipped(skipped);
+            event.setFailed(failed);
+            event.setBytesRead(bytesRead);
+            event.setBytesWritten(bytesWritten);
+            event.setDurationMs(durationNanos / 1_000_000);
+            double seconds = durationNanos / 1_000_000_000.0;
+            event.setThroughputMbPerSecond(seconds > 0
+                    ? Math.round(bytesRead / (1024.0 * 1024.0) / seconds * 100) / 100.0
+                    : null);
+            log.info("Bulk run finished: {} processed, {} skipped, {} failed of {}",
+                    processed, skipped, failed, total);
+            emit(event);
+            return event;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void emit(BulkFileOperationEvent event) {
+            if (cancelled) {
+                return;
+            }
+            try {
+                events.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("Bulk progress listener failed, cancelling run: {}", e.getMessage());
+                cancelled = true;
+            }
+        }
+    }
+}
@@ -1,22 +1,64 @@
 package com.example.eSign.service.impl;
 
+import com.example.eSign.codec.ParallelBase64Codec;
 import com.example.eSign.dto.FileOperationRequest;
 import com.example.eSign.dto.FileOperationResponse;
 import com.example.eSign.service.FileOperationService;
 import com.example.eSign.util.Constants;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Base64;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
 public class FileOperationServiceImpl implements FileOperationService {
 
+    // Files are streamed through fixed-size buffers, so memory use does not depend on file size.
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${app.file.base64.parallel.enabled:true}")
+    private boolean parallelEnabled;
+
+    @Value("${app.file.base64.parallel.threshold:64MB}")
+    private DataSize parallelThreshold;
+
+    @Value("${app.file.base64.parallel.threads:0}")
+    private int parallelThreads;
+
+    private ParallelBase64Codec parallelCodec;
+
+    @PostConstruct
+    public void start() {
+        if (parallelEnabled) {
+            parallelCodec = new ParallelBase64Codec(parallelThreads);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (parallelCodec != null) {
+            parallelCodec.close();
+        }
+    }
+
     @Override
     public FileOperationResponse encodeFile(FileOperationRequest request) {
         String inputFileName = request.getInputFileName();
@@ -24,15 +66,17 @@ public class FileOperationServiceImpl implements FileOperationService {
 
         try {
             log.info("Encoding file: {} to {}", inputFileName, outputFileName);
-            performEncode(inputFileName, outputFileName);
+            TransferStats stats = performEncode(inputFileName, outputFileName);
 
-            return new FileOperationResponse(
+            FileOperationResponse response = new FileOperationResponse(
                     Constants.SUCCESS,
                     Constants.FILE_ENCODED_SUCCESS,
                     inputFileName,
                     outputFileName,
                     null
             );
+            stats.applyTo(response);
+            return response;
         } catch (IOException e) {
             log.error("Error encoding file: {}", e.getMessage());
             return new FileOperationResponse(
@@ -61,15 +105,17 @@ public class FileOperationServiceImpl implements FileOperationService {
 
         try {
             log.info("Decoding file: {} to {}", inputFileName, outputFileName);
-            performDecode(inputFileName, outputFileName);
+            TransferStats stats = performDecode(inputFileName, outputFileName);
 
-            return new FileOperationResponse(
+            FileOperationResponse response = new FileOperationResponse(
                     Constants.SUCCESS,
                     Constants.FILE_DECODED_SUCCESS,
                     inputFileName,
                     outputFileName,
                     null
             );
+            stats.applyTo(response);
+            return response;
         } catch (IOException e) {
             log.error("Error decoding file: {}", e.getMessage());
             return new FileOperationResponse(
@@ -100,41 +146,242 @@ public class FileOperationServiceImpl implements FileOperationService {
         }
     }
 
-    private void performEncode(String inputFileName, String outputFileName) throws IOException {
-        File inputFile = new File(inputFileName);
-        if (!inputFile.exists()) {
-            throw new IOException(String.format(Constants.FILE_NOT_EXISTS, inputFileName));
+    private TransferStats performEncode(String inputFileName, String outputFileName) throws IOException {
+        Path input = requireInputFile(inputFileName);
+        Path output = Path.of(outputFileName);
+        long start = System.nanoTime();
+
+        if (useParallelCodec(input)) {
+            try {
+                long written = parallelCodec.encode(input, output);
+                TransferStats stats = new TransferStats(Files.size(input), written, System.nanoTime() - start);
+                log.debug("Encoded {} bytes to {} base64 bytes in parallel", stats.bytesRead(), stats.bytesWritten());
+                return stats;
+            } catch (IOException | RuntimeException e) {
+                deletePartialOutput(output);
+                throw e;
+            }
         }
 
-        try (FileInputStream fis = new FileInputStream(inputFile);
-             FileOutputStream fos = new FileOutputStream(outputFileName)) {
+        try (CountingInputStream in = openInput(input);
+             CountingOutputStream out = openOutput(output)) {
 
-            byte[] fileBytes = fis.readAllBytes();
-            String encodedString = Base64.getEncoder().encodeToString(fileBytes);
-            fos.write(encodedString.getBytes());
+            try (OutputStream encoder = Base64.getEncoder().wrap(out)) {
+                copy(in, encoder);
+            }
 
-            log.debug("Encoded {} bytes to base64", fileBytes.length);
+            TransferStats stats = new TransferStats(in.getCount(), out.getCount(), System.nanoTime() - start);
+            log.debug("Encoded {} bytes to {} base64 bytes", stats.bytesRead(), stats.bytesWritten());
+            return stats;
+        } catch (IOException | RuntimeException e) {
+            deletePartialOutput(output);
+            throw e;
         }
     }
 
-    private void performDecode(String inputFileName, String outputFileName) throws IOException {
-        File inputFile = new File(inputFileName);
-        if (!inputFile.exists()) {
+    private TransferStats performDecode(String inputFileName, String outputFileName) throws IOException {
+        Path input = requireInputFile(inputFileName);
+        Path output = Path.of(outputFileName);
+        long start = System.nanoTime();
+
+        if (useParallelCodec(input)) {
+            try {
+                long written = parallelCodec.decode(input, output);
+                TransferStats stats = new TransferStats(Files.size(input), written, System.nanoTime() - start);
+                log.debug("Decoded {} base64 bytes to {} bytes in parallel", stats.bytesRead(), stats.bytesWritten());
+                return stats;
+            } catch (IllegalArgumentException e) {
+                deletePartialOutput(output);
+                throw new IllegalArgumentException(
+                        String.format(Constants.FILE_INVALID_BASE64_IN_FILE, inputFileName), e);
+            } catch (IOException | RuntimeException e) {
+                deletePartialOutput(output);
+                throw e;
+            }
+        }
+
+        try (CountingInputStream in = openInput(input);
+             CountingOutputStream out = openOutput(output)) {
+
+            try (InputStream decoder = Base64.getDecoder().wrap(in)) {
+                copy(decoder, out);
+            } catch (IOException e) {
+                // The decoder reports malformed input as an IOException; tell it apart from
+                // failures reading the input file or writing the output file (e.g. a full disk).
+                if (!in.hasFailed() && !out.hasFailed()) {
+                    throw new IllegalArgumentException(
+                            String.format(Constants.FILE_INVALID_BASE64_IN_FILE, inputFileName), e);
+                }
+                throw e;
+            }
+            out.flush();
+
+            TransferStats stats = new TransferStats(in.getCount(), out.getCount(), System.nanoTime() - start);
+            log.debug("Decoded {} base64 bytes to {} bytes", stats.bytesRead(), stats.bytesWritten());
+            return stats;
+        } catch (IOException | RuntimeException e) {
+            deletePartialOutput(output);
+            throw e;
+        }
+    }
+
+    /**
+     * Large files go through the parallel codec; smaller ones are streamed, where splitting
+     * the work across threads would cost more than it saves.
+     */
+    private boolean useParallelCodec(Path input) throws IOException {
+        return parallelCodec != null && Files.size(input) >= parallelThreshold.toBytes();
+    }
+
+    private Path requireInputFile(String inputFileName) throws IOException {
+        Path input = Path.of(inputFileName);
+        if (!Files.exists(input)) {
             throw new IOException(String.format(Constants.FILE_NOT_EXISTS, inputFileName));
         }
+        return input;
+    }
 
-        try (FileInputStream fis = new FileInputStream(inputFile);
-             FileOutputStream fos = new FileOutputStream(outputFileName)) {
+    private CountingInputStream openInput(Path input) throws IOException {
+        FileChannel channel = FileChannel.open(input, StandardOpenOption.READ);
+        return new CountingInputStream(new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+    }
 
-            String encodedString = new String(fis.readAllBytes());
-            byte[] decodedBytes = Base64.getDecoder().decode(encodedString);
-            fos.write(decodedBytes);
+    private CountingOutputStream openOutput(Path output) throws IOException {
+        FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return new CountingOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+    }
 
-            log.debug("Decoded base64 to {} bytes", decodedBytes.length);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException(String.format(Constants.FILE_INVALID_BASE64_IN_FILE, inputFileName), e);
+    private void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
         }
     }
-}
 
+    private void deletePartialOutput(Path output) {
+        try {
+            Files.deleteIfExists(output);
+        } catch (IOException e) {
+            log.warn("Failed to delete partial output file {}: {}", output, e.getMessage());
+        }
+    }
+
+    /**
+     * Bytes moved by one file operation and how long it took.
+     */
+    private record TransferStats(long bytesRead, long bytesWritten, long durationNanos) {
+
+        void applyTo(FileOperationResponse response) {
+            response.setBytesRead(bytesRead);
+            response.setBytesWritten(bytesWritten);
+            response.setDurationMs(TimeUnit.NANOSECONDS.toMillis(durationNanos));
+            double seconds = durationNanos / 1_000_000_000.0;
+            double megabytes = bytesRead / (1024.0 * 1024.0);
+            response.setThroughputMbPerSecond(seconds > 0 ? Math.round(megabytes / seconds * 100) / 100.0 : null);
+        }
+    }
+
+    /**
+     * Counts bytes read and remembers whether the underlying stream itself failed.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+        private boolean failed;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
 
+        @Override
+        public int read() throws IOException {
+            try {
+                int b = super.read();
+                if (b != -1) {
+                    count++;
+                }
+                return b;
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                int read = super.read(b, off, len);
+                if (read > 0) {
+                    count += read;
+                }
+                return read;
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        boolean hasFailed() {
+            return failed;
+        }
+    }
+
+    /**
+     * Counts bytes written and remembers whether the underlying stream itself failed.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+        private boolean failed;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            try {
+                out.write(b);
+                count++;
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            try {
+                out.write(b, off, len);
+                count += len;
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        boolean hasFailed() {
+            return failed;
+        }
+    }
+}
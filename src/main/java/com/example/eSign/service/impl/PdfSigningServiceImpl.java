@@ -1,93 +1,103 @@
 package com.example.eSign.service.impl;
 
+import com.example.eSign.codec.Base64Content;
+import com.example.eSign.crypto.CmsSignerEngine;
+import com.example.eSign.crypto.SignerRegistry;
+import com.example.eSign.dto.PdfHashPrepareResponse;
+import com.example.eSign.dto.PdfHashSignRequest;
+import com.example.eSign.dto.PdfHashSignResponse;
 import com.example.eSign.dto.PdfSignBase64Request;
+import com.example.eSign.dto.PdfSignBatchItemResult;
+import com.example.eSign.dto.PdfSignBatchResponse;
 import com.example.eSign.dto.PdfSignResponse;
+import com.example.eSign.dto.PdfSignedContent;
 import com.example.eSign.dto.PdfSignatureInfo;
 import com.example.eSign.dto.PdfSignatureListResponse;
 import com.example.eSign.dto.SignerInfoResponse;
+import com.example.eSign.pdf.LoadedPdf;
+import com.example.eSign.pdf.PdfDocumentLoader;
+import com.example.eSign.pdf.PdfSignatureScanner;
 import com.example.eSign.service.PdfSigningService;
+import com.example.eSign.util.BoundedFanOut;
+import com.example.eSign.util.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.interactive.digitalsignature.ExternalSigningSupport;
 import org.apache.pdfbox.pdmodel.interactive.digitalsignature.PDSignature;
 import org.apache.pdfbox.pdmodel.interactive.digitalsignature.SignatureInterface;
 import org.apache.pdfbox.pdmodel.interactive.digitalsignature.SignatureOptions;
-import org.bouncycastle.cert.jcajce.JcaCertStore;
-import org.bouncycastle.cms.CMSException;
-import org.bouncycastle.cms.CMSProcessableByteArray;
+import org.bouncycastle.asn1.x500.RDN;
+import org.bouncycastle.asn1.x500.style.BCStyle;
+import org.bouncycastle.asn1.x500.style.IETFUtils;
+import org.bouncycastle.cert.X509CertificateHolder;
 import org.bouncycastle.cms.CMSSignedData;
-import org.bouncycastle.cms.CMSSignedDataGenerator;
-import org.bouncycastle.cms.jcajce.JcaSignerInfoGeneratorBuilder;
-import org.bouncycastle.operator.ContentSigner;
-import org.bouncycastle.operator.OperatorCreationException;
-import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
-import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.bouncycastle.cms.SignerInformation;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.security.PrivateKey;
-import java.security.cert.Certificate;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.cert.X509Certificate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PdfSigningServiceImpl implements PdfSigningService {
 
-    private final PrivateKey privateKey;
-    private final Certificate certificate;
+    private final SignerRegistry signerRegistry;
 
-    @Value("${app.keystore.alias}")
-    private String defaultAlias;
+    private final ThreadPoolTaskExecutor signingExecutor;
+    private final PdfDocumentLoader pdfDocumentLoader;
+
+    @Value("${app.signing.batch.max-size:100}")
+    private int batchMaxSize;
+
+    @Value("${app.signing.batch.parallelism:4}")
+    private int batchParallelism;
 
     // All dates in responses should be in IST with pattern yyyy-MM-dd HH:mm:ss
     private static final DateTimeFormatter RESPONSE_DATE_FORMATTER =
             DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final ZoneId IST_ZONE = ZoneId.of("Asia/Kolkata");
 
+    private static final int SIGNATURE_SIZE = 8192;
+    // An embedded timestamp token carries its own signature and TSA certificates.
+    private static final int TIMESTAMPED_SIGNATURE_SIZE = 16384;
+
     @Override
     public byte[] signPdf(byte[] pdfBytes) throws IOException {
+        return signPdf(pdfBytes, null);
+    }
+
+    @Override
+    public byte[] signPdf(byte[] pdfBytes, String alias) throws IOException {
+        return signPdf(() -> pdfDocumentLoader.load(pdfBytes), alias);
+    }
+
+    private byte[] signPdf(PdfSource source, String alias) throws IOException {
         log.debug("Starting PDF signing operation");
+        CmsSignerEngine signer = signerRegistry.get(alias);
 
-        try (PDDocument document = Loader.loadPDF(pdfBytes);
+        try (LoadedPdf pdf = source.load();
              ByteArrayOutputStream signedOut = new ByteArrayOutputStream()) {
 
-            PDSignature signature = new PDSignature();
-            signature.setFilter(PDSignature.FILTER_ADOBE_PPKLITE);
-            signature.setSubFilter(PDSignature.SUBFILTER_ADBE_PKCS7_DETACHED);
-            signature.setName("eSign");
-            signature.setLocation("eSign Service");
-            signature.setReason("Document signed electronically");
-            signature.setSignDate(Calendar.getInstance());
-
-            SignatureOptions options = new SignatureOptions();
-            options.setPreferredSignatureSize(8192);
-
-            document.addSignature(signature, (SignatureInterface) content -> {
-                try {
-                    ByteArrayInputStream contentStream = new ByteArrayInputStream(content.readAllBytes());
-                    byte[] cmsSignature = createCmsSignature(contentStream);
-                    return cmsSignature;
-                } catch (Exception e) {
-                    log.error("Error while creating CMS signature", e);
-                    throw new IOException("Failed to create CMS signature: " + e.getMessage(), e);
-                }
-            }, options);
-
-            document.saveIncremental(signedOut);
-            log.info("PDF signed successfully");
+            signDocument(pdf.getDocument(), signedOut, signer);
             return signedOut.toByteArray();
         } catch (IOException e) {
             log.error("IO error while signing PDF", e);
@@ -98,90 +108,377 @@ public class PdfSigningServiceImpl implements PdfSigningService {
         }
     }
 
+    @Override
+    public void signPdf(InputStream pdfStream, OutputStream output, String alias) throws IOException {
+        signPdf(pdfStream, -1, output, alias);
+    }
+
+    private void signPdf(InputStream pdfStream, long size, OutputStream output, String alias) throws IOException {
+        log.debug("Starting streaming PDF signing operation");
+        CmsSignerEngine signer = signerRegistry.get(alias);
+
+        try (LoadedPdf pdf = pdfDocumentLoader.load(pdfStream, size)) {
+            signDocument(pdf.getDocument(), output, signer);
+        } catch (IOException e) {
+            log.error("IO error while signing PDF", e);
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error while signing PDF", e);
+            throw new IOException("Unexpected error while signing PDF: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Adds a signature to the loaded document and writes the incremental update to {@code output}.
+     * <p>
+     * PDFBox only writes to {@code output} once the CMS signature has been computed, so a
+     * failure while signing leaves the output untouched.
+     */
+    private void signDocument(PDDocument document, OutputStream output, CmsSignerEngine signer) throws IOException {
+        document.addSignature(newSignatureDictionary(), (SignatureInterface) content -> {
+            try {
+                return signer.sign(content);
+            } catch (Exception e) {
+                log.error("Error while creating CMS signature", e);
+                throw new IOException("Failed to create CMS signature: " + e.getMessage(), e);
+            }
+        }, newSignatureOptions(signer));
+
+        document.saveIncremental(output);
+        log.info("PDF signed successfully");
+    }
+
+    private PDSignature newSignatureDictionary() {
+        PDSignature signature = new PDSignature();
+        signature.setFilter(PDSignature.FILTER_ADOBE_PPKLITE);
+        signature.setSubFilter(PDSignature.SUBFILTER_ADBE_PKCS7_DETACHED);
+        signature.setName("eSign");
+        signature.setLocation("eSign Service");
+        signature.setReason("Document signed electronically");
+        signature.setSignDate(Calendar.getInstance());
+        return signature;
+    }
+
+    private SignatureOptions newSignatureOptions(CmsSignerEngine signer) {
+        SignatureOptions options = new SignatureOptions();
+        options.setPreferredSignatureSize(signer.isTimestampEnabled() ? TIMESTAMPED_SIGNATURE_SIZE : SIGNATURE_SIZE);
+        return options;
+    }
+
+    @Override
+    public PdfHashPrepareResponse prepareHashSigning(PdfSignBase64Request request) throws IOException {
+        Base64Content pdfContent = requirePdfContent(request);
+
+        log.debug("Preparing PDF for hash-only signing");
+        CmsSignerEngine signer = signerRegistry.get(request.getAlias());
+
+        try (pdfContent;
+             LoadedPdf pdf = pdfDocumentLoader.load(pdfContent);
+             ByteArrayOutputStream preparedOut = new ByteArrayOutputStream()) {
+
+            PDDocument document = pdf.getDocument();
+            PDSignature signature = newSignatureDictionary();
+            document.addSignature(signature, newSignatureOptions(signer));
+
+            ExternalSigningSupport externalSigning = document.saveIncrementalForExternalSigning(preparedOut);
+            byte[] digest = digestContent(externalSigning.getContent(), signer.getDigestAlgorithm());
+            // An empty signature leaves the zero-filled /Contents placeholder in place.
+            externalSigning.setSignature(new byte[0]);
+
+            String fileName = (request.getFileName() != null && !request.getFileName().isEmpty())
+                    ? request.getFileName()
+                    : "signed-document.pdf";
+
+            log.info("PDF prepared for hash-only signing");
+            return new PdfHashPrepareResponse(
+                    Base64.getEncoder().encodeToString(preparedOut.toByteArray()),
+                    signature.getByteRange(),
+                    Base64.getEncoder().encodeToString(digest),
+                    signer.getDigestAlgorithm(),
+                    fileName
+            );
+        } catch (IOException e) {
+            log.error("IO error while preparing PDF for hash-only signing", e);
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error while preparing PDF for hash-only signing", e);
+            throw new IOException("Unexpected error while preparing PDF: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public PdfHashSignResponse signHash(PdfHashSignRequest request) throws IOException {
+        if (request == null || request.getDigestBase64() == null || request.getDigestBase64().isEmpty()) {
+            throw new IllegalArgumentException("digestBase64 is required");
+        }
+
+        CmsSignerEngine signer = signerRegistry.get(request.getAlias());
+        String digestAlgorithm = signer.getDigestAlgorithm();
+        if (request.getDigestAlgorithm() != null && !request.getDigestAlgorithm().isBlank()
+                && !normaliseDigestName(request.getDigestAlgorithm()).equals(normaliseDigestName(digestAlgorithm))) {
+            throw new IllegalArgumentException("Unsupported digest algorithm " + request.getDigestAlgorithm()
+                    + "; the signing key requires " + digestAlgorithm);
+        }
+
+        byte[] digest;
+        try {
+            digest = Base64.getDecoder().decode(request.getDigestBase64());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid base64 digest", e);
+        }
+
+        int expectedLength = digestLength(digestAlgorithm);
+        if (digest.length != expectedLength) {
+            throw new IllegalArgumentException("Digest must be " + expectedLength + " bytes for " + digestAlgorithm);
+        }
+
+        byte[] cmsSignature = signer.signDigest(digest);
+        log.info("Signed client-supplied {} digest", digestAlgorithm);
+        return new PdfHashSignResponse(Base64.getEncoder().encodeToString(cmsSignature), digestAlgorithm);
+    }
+
+    private byte[] digestContent(InputStream content, String digestAlgorithm) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(digestAlgorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Digest algorithm not available: " + digestAlgorithm, e);
+        }
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return digest.digest();
+    }
+
+    private int digestLength(String digestAlgorithm) throws IOException {
+        try {
+            return MessageDigest.getInstance(digestAlgorithm).getDigestLength();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Digest algorithm not available: " + digestAlgorithm, e);
+        }
+    }
+
+    private String normaliseDigestName(String digestAlgorithm) {
+        return digestAlgorithm.replace("-", "").toUpperCase();
+    }
+
     @Override
     public List<PdfSignatureInfo> extractSignatures(byte[] pdfBytes) throws IOException {
         log.debug("Starting PDF signature extraction");
 
-        try (PDDocument document = Loader.loadPDF(pdfBytes)) {
-            List<PDSignature> pdSignatures = document.getSignatureDictionaries();
-            List<PdfSignatureInfo> result = new ArrayList<>();
+        try (LoadedPdf pdf = pdfDocumentLoader.open(pdfBytes)) {
+            return extractSignatures(pdf);
+        }
+    }
 
-            // Derive signer name from the certificate we use for signing,
-            // so API always returns the real signer identity, not just
-            // the free-text PDSignature name field.
-            String signerNameFromCertificate = null;
-            if (certificate instanceof X509Certificate x509) {
-                String subjectDn = x509.getSubjectX500Principal().getName();
-                signerNameFromCertificate = extractCommonName(subjectDn);
-            }
+    /**
+     * Lists signatures with the lightweight tail scanner, falling back to a full parse for
+     * documents it cannot read. The signer name comes from each signature's own CMS.
+     */
+    private List<PdfSignatureInfo> extractSignatures(LoadedPdf pdf) throws IOException {
+        try {
+            List<PdfSignatureInfo> result = new ArrayList<>();
 
-            for (PDSignature sig : pdSignatures) {
-                String isoDate = null;
-                if (sig.getSignDate() != null) {
-                    isoDate = sig.getSignDate()
-                            .toInstant()
-                            .atZone(IST_ZONE)
-                            .format(RESPONSE_DATE_FORMATTER);
+            List<PdfSignatureScanner.ScannedSignature> scanned = scanSignatures(pdf);
+            if (scanned != null) {
+                for (PdfSignatureScanner.ScannedSignature sig : scanned) {
+                    result.add(toSignatureInfo(sig.getName(), sig.getLocation(), sig.getReason(),
+                            sig.getSignDate(), sig.getSubFilter(), sig::getContents));
+                }
+            } else {
+                for (PDSignature sig : pdf.getDocument().getSignatureDictionaries()) {
+                    result.add(toSignatureInfo(sig.getName(), sig.getLocation(), sig.getReason(),
+                            sig.getSignDate(), sig.getSubFilter(), sig::getContents));
                 }
-
-                PdfSignatureInfo info = new PdfSignatureInfo(
-                        signerNameFromCertificate != null ? signerNameFromCertificate : sig.getName(),
-                        sig.getLocation(),
-                        sig.getReason(),
-                        isoDate,
-                        sig.getSubFilter()
-                );
-                result.add(info);
             }
 
             log.info("Found {} signatures on PDF", result.size());
             return result;
-        } catch (IOException e) {
-            log.error("IO error while extracting signatures from PDF", e);
-            throw e;
         } catch (Exception e) {
             log.error("Unexpected error while extracting signatures from PDF", e);
             throw new IOException("Unexpected error while extracting signatures from PDF: " + e.getMessage(), e);
         }
     }
 
-    @Override
-    public PdfSignResponse signPdfFromBase64(PdfSignBase64Request request) throws IOException {
-        if (request == null || request.getPdfBase64() == null || request.getPdfBase64().isEmpty()) {
-            throw new IllegalArgumentException("pdfBase64 is required");
+    private List<PdfSignatureScanner.ScannedSignature> scanSignatures(LoadedPdf pdf) throws IOException {
+        try {
+            return PdfSignatureScanner.scan(pdf.getContent());
+        } catch (IOException e) {
+            log.debug("Signature scan failed, falling back to full parse: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private PdfSignatureInfo toSignatureInfo(String name, String location, String reason, Calendar signDate,
+                                             String subFilter, Supplier<byte[]> contents) {
+        String isoDate = null;
+        if (signDate != null) {
+            isoDate = signDate
+                    .toInstant()
+                    .atZone(IST_ZONE)
+                    .format(RESPONSE_DATE_FORMATTER);
         }
 
-        byte[] pdfBytes;
+        // Prefer the signer identity from the signature's certificate over the
+        // free-text /Name entry.
+        String signerName = signerCommonName(contents.get());
+
+        return new PdfSignatureInfo(
+                signerName != null ? signerName : name,
+                location,
+                reason,
+                isoDate,
+                subFilter
+        );
+    }
+
+    /**
+     * Common name of the signer certificate embedded in a CMS signature, or {@code null} if
+     * the signature cannot be parsed or does not carry its certificate.
+     */
+    private String signerCommonName(byte[] cmsSignature) {
+        if (cmsSignature == null || cmsSignature.length == 0) {
+            return null;
+        }
         try {
-            pdfBytes = Base64.getDecoder().decode(request.getPdfBase64());
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid base64 PDF content", e);
+            CMSSignedData signedData = new CMSSignedData(cmsSignature);
+            for (SignerInformation signer : signedData.getSignerInfos().getSigners()) {
+                @SuppressWarnings("unchecked")
+                Collection<X509CertificateHolder> matches = signedData.getCertificates().getMatches(signer.getSID());
+                for (X509CertificateHolder certificate : matches) {
+                    RDN[] commonNames = certificate.getSubject().getRDNs(BCStyle.CN);
+                    return commonNames.length > 0
+                            ? IETFUtils.valueToString(commonNames[0].getFirst().getValue())
+                            : certificate.getSubject().toString();
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Could not read signer from CMS signature: {}", e.getMessage());
         }
+        return null;
+    }
+
+    @Override
+    public PdfSignResponse signPdfFromBase64(PdfSignBase64Request request) throws IOException {
+        PdfSignedContent signed = signPdfContentFromBase64(request);
+        String signedBase64 = Base64.getEncoder().encodeToString(signed.getSignedPdfBase64());
+        return new PdfSignResponse(signedBase64, signed.getFileName());
+    }
 
-        byte[] signedBytes = signPdf(pdfBytes);
-        String signedBase64 = Base64.getEncoder().encodeToString(signedBytes);
+    @Override
+    public PdfSignedContent signPdfContentFromBase64(PdfSignBase64Request request) throws IOException {
+        Base64Content pdfContent = requirePdfContent(request);
+
+        byte[] signedBytes;
+        try (pdfContent) {
+            signedBytes = signPdf(() -> pdfDocumentLoader.load(pdfContent), request.getAlias());
+        }
         String fileName = (request.getFileName() != null && !request.getFileName().isEmpty())
                 ? request.getFileName()
                 : "signed-document.pdf";
 
-        return new PdfSignResponse(signedBase64, fileName);
+        return new PdfSignedContent(signedBytes, fileName);
     }
 
-    @Override
-    public PdfSignatureListResponse getSignaturesFromBase64(PdfSignBase64Request request) throws IOException {
+    private static Base64Content requirePdfContent(PdfSignBase64Request request) {
         if (request == null || request.getPdfBase64() == null || request.getPdfBase64().isEmpty()) {
             throw new IllegalArgumentException("pdfBase64 is required");
         }
+        if (!request.getPdfBase64().isValid()) {
+            throw new IllegalArgumentException("Invalid base64 PDF content", request.getPdfBase64().getError());
+        }
+        return request.getPdfBase64();
+    }
+
+    @Override
+    public PdfSignBatchResponse signPdfBatchFromBase64(List<PdfSignBase64Request> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("documents are required");
+        }
+        if (requests.size() > batchMaxSize) {
+            throw new IllegalArgumentException("Batch contains " + requests.size()
+                    + " documents; the maximum is " + batchMaxSize);
+        }
+
+        log.debug("Starting batch signing of {} documents", requests.size());
+
+        BoundedFanOut<PdfSignBatchItemResult> fanOut = new BoundedFanOut<>(signingExecutor, batchParallelism);
+        for (int i = 0; i < requests.size(); i++) {
+            int index = i;
+            PdfSignBase64Request item = requests.get(i);
+            fanOut.submit(() -> signBatchItem(index, item), () -> {
+                log.warn("Signing executor rejected batch item {}", index);
+                return failedBatchItem(index, item, "Signing capacity exhausted, please retry");
+            });
+        }
 
-        byte[] pdfBytes;
+        List<PdfSignBatchItemResult> results = fanOut.join();
+        int succeeded = (int) results.stream()
+                .filter(result -> Constants.STATUS_SUCCESS.equals(result.getStatus()))
+                .count();
+
+        log.info("Batch signing completed: {} succeeded, {} failed", succeeded, results.size() - succeeded);
+        return new PdfSignBatchResponse(results.size(), succeeded, results.size() - succeeded, results);
+    }
+
+    private PdfSignBatchItemResult signBatchItem(int index, PdfSignBase64Request item) {
         try {
-            pdfBytes = Base64.getDecoder().decode(request.getPdfBase64());
+            PdfSignResponse signed = signPdfFromBase64(item);
+            return new PdfSignBatchItemResult(
+                    index,
+                    Constants.STATUS_SUCCESS,
+                    signed.getFileName(),
+                    signed.getSignedPdfBase64(),
+                    null
+            );
         } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid base64 PDF content", e);
+            return failedBatchItem(index, item, e.getMessage());
+        } catch (Exception e) {
+            log.error("Failed to sign batch item {}", index, e);
+            return failedBatchItem(index, item, "Failed to sign PDF: " + e.getMessage());
+        }
+    }
+
+    private PdfSignBatchItemResult failedBatchItem(int index, PdfSignBase64Request item, String error) {
+        String fileName = item != null ? item.getFileName() : null;
+        return new PdfSignBatchItemResult(index, Constants.STATUS_ERROR, fileName, null, error);
+    }
+
+    @Override
+    public PdfSignatureListResponse getSignaturesFromBase64(PdfSignBase64Request request) throws IOException {
+        Base64Content pdfContent = requirePdfContent(request);
+
+        try (pdfContent; LoadedPdf pdf = pdfDocumentLoader.open(pdfContent)) {
+            return toSignatureListResponse(extractSignatures(pdf));
         }
+    }
 
-        List<PdfSignatureInfo> signatures = extractSignatures(pdfBytes);
+    @Override
+    public PdfSignatureListResponse getSignaturesFromFile(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("PDF file is required");
+        }
+
+        try (InputStream pdfStream = file.getInputStream()) {
+            return getSignatures(pdfStream, file.getSize());
+        }
+    }
 
+    @Override
+    public PdfSignatureListResponse getSignatures(InputStream pdfStream, long sizeHint) throws IOException {
+        if (pdfStream == null || sizeHint == 0) {
+            throw new IllegalArgumentException("PDF content is required");
+        }
+
+        log.debug("Starting streamed PDF signature extraction");
+        try (LoadedPdf pdf = pdfDocumentLoader.open(pdfStream, sizeHint)) {
+            return toSignatureListResponse(extractSignatures(pdf));
+        }
+    }
+
+    private PdfSignatureListResponse toSignatureListResponse(List<PdfSignatureInfo> signatures) {
         if (signatures == null || signatures.isEmpty()) {
             return new PdfSignatureListResponse(
                     Collections.emptyList(),
@@ -193,33 +490,41 @@ public class PdfSigningServiceImpl implements PdfSigningService {
     }
 
     @Override
-    public PdfSignResponse signPdfFile(MultipartFile file) throws IOException {
+    public PdfSignedContent signPdfFile(MultipartFile file, String alias) throws IOException {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("PDF file is required");
         }
 
         byte[] pdfBytes = file.getBytes();
-        byte[] signedBytes = signPdf(pdfBytes);
+        byte[] signedBytes = signPdf(pdfBytes, alias);
+        return new PdfSignedContent(signedBytes, getSignedFileName(file));
+    }
+
+    @Override
+    public void signPdfFile(MultipartFile file, OutputStream output, String alias) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("PDF file is required");
+        }
+
+        try (InputStream pdfStream = file.getInputStream()) {
+            signPdf(pdfStream, file.getSize(), output, alias);
+        }
+    }
 
-        String signedBase64 = Base64.getEncoder().encodeToString(signedBytes);
-        String originalName = file.getOriginalFilename();
-        String fileName = (originalName != null && !originalName.isEmpty())
+    @Override
+    public String getSignedFileName(MultipartFile file) {
+        String originalName = file != null ? file.getOriginalFilename() : null;
+        return (originalName != null && !originalName.isEmpty())
                 ? originalName.replaceAll("(?i)\\.pdf$", "") + "_signed.pdf"
                 : "signed-document.pdf";
-
-        return new PdfSignResponse(signedBase64, fileName);
     }
 
     @Override
     public SignerInfoResponse getSignerInfo(String alias) {
         try {
-            String effectiveAlias = (alias != null && !alias.isBlank()) ? alias : defaultAlias;
-
-            if (!(certificate instanceof X509Certificate)) {
-                throw new IllegalStateException("Configured certificate is not an X509 certificate");
-            }
-
-            X509Certificate x509 = (X509Certificate) certificate;
+            CmsSignerEngine signer = signerRegistry.get(alias);
+            String effectiveAlias = signer.getAlias();
+            X509Certificate x509 = signer.getCertificate();
 
             String subjectDn = x509.getSubjectX500Principal().getName();
             String issuerDn = x509.getIssuerX500Principal().getName();
@@ -267,38 +572,8 @@ public class PdfSigningServiceImpl implements PdfSigningService {
         return dn;
     }
 
-    private byte[] createCmsSignature(ByteArrayInputStream contentStream)
-            throws OperatorCreationException, CMSException, IOException {
-
-        X509Certificate x509Certificate = (X509Certificate) certificate;
-        List<java.security.cert.Certificate> certList = Collections.singletonList(x509Certificate);
-        JcaCertStore certStore;
-        try {
-            certStore = new JcaCertStore(certList);
-        } catch (java.security.cert.CertificateEncodingException e) {
-            throw new IOException("Failed to encode certificate: " + e.getMessage(), e);
-        }
-
-        String signatureAlgorithm = "SHA256withRSA";
-        ContentSigner contentSigner = new JcaContentSignerBuilder(signatureAlgorithm)
-                .build(privateKey);
-
-        CMSSignedDataGenerator generator = new CMSSignedDataGenerator();
-        try {
-            generator.addSignerInfoGenerator(
-                    new JcaSignerInfoGeneratorBuilder(
-                            new JcaDigestCalculatorProviderBuilder().build())
-                            .build(contentSigner, x509Certificate)
-            );
-        } catch (java.security.cert.CertificateEncodingException e) {
-            throw new IOException("Failed to encode certificate for signer info: " + e.getMessage(), e);
-        }
-        generator.addCertificates(certStore);
-
-        byte[] contentBytes = contentStream.readAllBytes();
-        CMSSignedData signedData = generator.generate(new CMSProcessableByteArray(contentBytes), false);
-        return signedData.getEncoded();
+    @FunctionalInterface
+    private interface PdfSource {
+        LoadedPdf load() throws IOException;
     }
 }
-
-
@@ -1,44 +1,73 @@
 package com.example.eSign.service.impl;
 
+import com.example.eSign.codec.Base64Content;
+import com.example.eSign.crypto.SignerRegistry;
 import com.example.eSign.dto.PdfSignBase64Request;
 import com.example.eSign.dto.PdfSignatureVerificationInfo;
 import com.example.eSign.dto.PdfVerificationResult;
+import com.example.eSign.pdf.ByteRangeContent;
+import com.example.eSign.pdf.ByteRangeDigester;
+import com.example.eSign.pdf.LoadedPdf;
+import com.example.eSign.pdf.PdfDocumentLoader;
 import com.example.eSign.service.PdfVerificationService;
+import com.example.eSign.util.BoundedFanOut;
+import com.example.eSign.verification.CertificateChainValidator;
+import com.example.eSign.verification.RevocationChecker;
+import com.example.eSign.verification.RevocationStatus;
+import com.example.eSign.verification.SignatureCheck;
+import com.example.eSign.verification.SignerVerifierCache;
+import com.example.eSign.verification.VerificationCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.interactive.digitalsignature.PDSignature;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.cert.X509CertificateHolder;
-import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
 import org.bouncycastle.cms.CMSException;
-import org.bouncycastle.cms.CMSProcessableByteArray;
 import org.bouncycastle.cms.CMSSignedData;
 import org.bouncycastle.cms.SignerInformation;
-import org.bouncycastle.cms.SignerInformationStore;
-import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoVerifierBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.security.cert.Certificate;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import java.security.cert.X509Certificate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Base64;
+import java.util.Calendar;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.bouncycastle.util.Store;
+import org.bouncycastle.util.encoders.Hex;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PdfVerificationServiceImpl implements PdfVerificationService {
 
-    private final Certificate certificate;
+    private final SignerRegistry signerRegistry;
+    private final PdfDocumentLoader pdfDocumentLoader;
+    private final ThreadPoolTaskExecutor verificationExecutor;
+    private final VerificationCache verificationCache;
+    private final SignerVerifierCache signerVerifierCache;
+    private final CertificateChainValidator certificateChainValidator;
+    private final RevocationChecker revocationChecker;
+
+    @Value("${app.verification.parallelism:4}")
+    private int verificationParallelism;
+
+    @Value("${app.verification.single-pass-digest:true}")
+    private boolean singlePassDigest;
 
     // All dates in responses should be in IST with pattern yyyy-MM-dd HH:mm:ss
     private static final DateTimeFormatter RESPONSE_DATE_FORMATTER =
@@ -47,30 +76,53 @@ public class PdfVerificationServiceImpl implements PdfVerificationService {
 
     @Override
     public PdfVerificationResult verifyPdfFromBase64(PdfSignBase64Request request) throws IOException {
+        Base64Content pdfContent = requirePdfContent(request);
+
+        log.debug("Starting PDF verification");
+        try (pdfContent; LoadedPdf pdf = pdfDocumentLoader.load(pdfContent)) {
+            return verifyPdf(pdf);
+        }
+    }
+
+    private static Base64Content requirePdfContent(PdfSignBase64Request request) {
         if (request == null || request.getPdfBase64() == null || request.getPdfBase64().isEmpty()) {
             throw new IllegalArgumentException("pdfBase64 is required");
         }
+        if (!request.getPdfBase64().isValid()) {
+            throw new IllegalArgumentException("Invalid base64 PDF content", request.getPdfBase64().getError());
+        }
+        return request.getPdfBase64();
+    }
 
-        byte[] pdfBytes;
-        try {
-            pdfBytes = Base64.getDecoder().decode(request.getPdfBase64());
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid base64 PDF content", e);
+    @Override
+    public PdfVerificationResult verifyPdfFile(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("PDF file is required");
         }
 
-        return verifyPdf(pdfBytes);
+        try (InputStream pdfStream = file.getInputStream()) {
+            return verifyPdf(pdfStream, file.getSize());
+        }
     }
 
-    /**
-     * Verifies all signatures on the given PDF bytes.
-     */
-    private PdfVerificationResult verifyPdf(byte[] pdfBytes) throws IOException {
-        log.debug("Starting PDF verification");
+    @Override
+    public PdfVerificationResult verifyPdf(InputStream pdfStream, long sizeHint) throws IOException {
+        if (pdfStream == null || sizeHint == 0) {
+            throw new IllegalArgumentException("PDF content is required");
+        }
 
-        List<PdfSignatureVerificationInfo> verificationInfos = new ArrayList<>();
+        log.debug("Starting streamed PDF verification");
+        try (LoadedPdf pdf = pdfDocumentLoader.load(pdfStream, sizeHint)) {
+            return verifyPdf(pdf);
+        }
+    }
 
-        try (PDDocument document = Loader.loadPDF(pdfBytes)) {
-            List<PDSignature> pdSignatures = document.getSignatureDictionaries();
+    /**
+     * Verifies all signatures on a loaded PDF.
+     */
+    private PdfVerificationResult verifyPdf(LoadedPdf pdf) throws IOException {
+        try {
+            List<PDSignature> pdSignatures = pdf.getDocument().getSignatureDictionaries();
 
             if (pdSignatures == null || pdSignatures.isEmpty()) {
                 return new PdfVerificationResult(
@@ -81,16 +133,27 @@ public class PdfVerificationServiceImpl implements PdfVerificationService {
                 );
             }
 
-            boolean allValid = true;
-
+            // PDDocument is not thread-safe, so everything needed from the signature
+            // dictionaries is read up front; the verification itself only touches plain data.
+            List<SignatureData> signatures = new ArrayList<>(pdSignatures.size());
             for (PDSignature sig : pdSignatures) {
-                PdfSignatureVerificationInfo info = verifySingleSignature(sig, pdfBytes);
-                verificationInfos.add(info);
-                if (!info.isIntegrityValid() || !info.isCertificateValid() || !info.isTrusted()) {
-                    allValid = false;
-                }
+                signatures.add(SignatureData.of(sig));
             }
 
+            // Signed content is read through views of this buffer (heap array or mapped temp
+            // file); it is never copied per signature.
+            ByteBuffer pdfData = pdf.getContent();
+
+            List<PrecomputedDigest> contentDigests = singlePassDigest
+                    ? digestSignedRanges(signatures, pdfData)
+                    : Collections.nCopies(signatures.size(), null);
+
+            List<PdfSignatureVerificationInfo> verificationInfos =
+                    verifySignatures(signatures, contentDigests, pdfData);
+
+            boolean allValid = verificationInfos.stream()
+                    .allMatch(info -> info.isIntegrityValid() && info.isCertificateValid() && info.isTrusted());
+
             String message = allValid
                     ? "All signatures are valid and trusted"
                     : "One or more signatures failed verification or are not trusted";
@@ -110,13 +173,70 @@ public class PdfVerificationServiceImpl implements PdfVerificationService {
         }
     }
 
+    /**
+     * Digests every signature's byte range in one pass over the file.
+     * <p>
+     * Entries are {@code null} for signatures whose CMS or byte range cannot be read; those
+     * are hashed individually during verification, which also reports the actual error.
+     */
+    private List<PrecomputedDigest> digestSignedRanges(List<SignatureData> signatures, ByteBuffer pdfData) {
+        List<int[]> byteRanges = new ArrayList<>(signatures.size());
+        List<String> digestAlgorithms = new ArrayList<>(signatures.size());
+        for (SignatureData signature : signatures) {
+            byteRanges.add(signature.byteRange());
+            digestAlgorithms.add(signature.digestAlgorithm());
+        }
+
+        List<byte[]> digests = ByteRangeDigester.digest(pdfData, byteRanges, digestAlgorithms);
+        List<PrecomputedDigest> result = new ArrayList<>(digests.size());
+        for (int i = 0; i < digests.size(); i++) {
+            result.add(digests.get(i) != null
+                    ? new PrecomputedDigest(new ASN1ObjectIdentifier(digestAlgorithms.get(i)), digests.get(i))
+                    : null);
+        }
+        return result;
+    }
+
+    /**
+     * Verifies independent signatures concurrently on the shared verification executor,
+     * returning results in document order.
+     * <p>
+     * At most {@code app.verification.parallelism} signatures of one document are in flight
+     * at a time; the executor bounds the total across the node. If the executor is
+     * saturated the signature is verified on the calling thread instead of failing.
+     */
+    private List<PdfSignatureVerificationInfo> verifySignatures(List<SignatureData> signatures,
+                                                                List<PrecomputedDigest> contentDigests,
+                                                                ByteBuffer pdfData) {
+        if (signatures.size() == 1) {
+            return List.of(verifySingleSignature(signatures.get(0), contentDigests.get(0), pdfData));
+        }
+
+        BoundedFanOut<PdfSignatureVerificationInfo> fanOut =
+                new BoundedFanOut<>(verificationExecutor, verificationParallelism);
+        for (int i = 0; i < signatures.size(); i++) {
+            SignatureData signature = signatures.get(i);
+            PrecomputedDigest contentDigest = contentDigests.get(i);
+            fanOut.submit(() -> verifySingleSignature(signature, contentDigest, pdfData), () -> {
+                log.debug("Verification executor saturated, verifying signature inline");
+                return verifySingleSignature(signature, contentDigest, pdfData);
+            });
+        }
+        return fanOut.join();
+    }
+
     /**
      * Verifies a single signature, splitting work into integrity and certificate checks.
+     *
+     * @param contentDigest precomputed digest of the signed byte range, or {@code null} to
+     *                      hash the byte range here
      */
-    private PdfSignatureVerificationInfo verifySingleSignature(PDSignature signature, byte[] pdfBytes) {
+    private PdfSignatureVerificationInfo verifySingleSignature(SignatureData signature,
+                                                               PrecomputedDigest contentDigest,
+                                                               ByteBuffer pdfData) {
         String signingTime = null;
-        if (signature.getSignDate() != null) {
-            signingTime = signature.getSignDate()
+        if (signature.signDate() != null) {
+            signingTime = signature.signDate()
                     .toInstant()
                     .atZone(IST_ZONE)
                     .format(RESPONSE_DATE_FORMATTER);
@@ -125,23 +245,33 @@ public class PdfVerificationServiceImpl implements PdfVerificationService {
         boolean integrityValid = false;
         boolean certificateValid = false;
         boolean trusted = false;
-        String signerName = signature.getName();
+        RevocationStatus revocationStatus = RevocationStatus.GOOD;
+        String signerName = signature.name();
         String message;
 
         try {
-            byte[] signedContent = extractSignedContent(signature, pdfBytes);
-            CMSSignedData cmsSignedData = new CMSSignedData(new CMSProcessableByteArray(signedContent),
-                    signature.getContents());
-
-            // Integrity check – verify CMS signature over the signed content.
-            integrityValid = verifySignatureIntegrity(cmsSignedData);
-
-            // Certificate extraction and validation.
-            X509Certificate signerCert = extractSignerCertificate(cmsSignedData);
-            if (signerCert != null) {
+            // Only the cryptographic result is cached; validity and trust below are always
+            // evaluated against the current time and configuration.
+            SignatureCheck check = verificationCache.getOrCompute(
+                    cacheKey(signature, contentDigest, pdfData),
+                    () -> checkSignature(signature, contentDigest, pdfData));
+            integrityValid = check.integrityValid();
+
+            // Certificate validation.
+            if (check.signerCertificate() != null) {
+                X509Certificate signerCert = signerVerifierCache.get(check.signerCertificate()).certificate();
                 signerName = extractCommonName(signerCert.getSubjectX500Principal().getName());
                 certificateValid = validateCertificateDates(signerCert);
-                trusted = isTrustedSigner(signerCert);
+                if (isConfiguredSigner(signerCert)) {
+                    trusted = true;
+                } else {
+                    Optional<CertificateChainValidator.ValidatedPath> path =
+                            certificateChainValidator.validate(signerCert, check.embeddedCertificates());
+                    if (path.isPresent()) {
+                        revocationStatus = revocationChecker.check(path.get());
+                        trusted = revocationChecker.isAcceptable(revocationStatus);
+                    }
+                }
             }
 
             if (integrityValid && certificateValid && trusted) {
@@ -150,6 +280,10 @@ public class PdfVerificationServiceImpl implements PdfVerificationService {
                 message = "Signature integrity check failed";
             } else if (!certificateValid) {
                 message = "Signer certificate is not within its validity period";
+            } else if (revocationStatus == RevocationStatus.REVOKED) {
+                message = "Signer certificate has been revoked";
+            } else if (revocationStatus == RevocationStatus.UNKNOWN) {
+                message = "Revocation status of signer certificate could not be determined";
             } else {
                 message = "Signer certificate is not trusted by server configuration";
             }
@@ -169,42 +303,31 @@ public class PdfVerificationServiceImpl implements PdfVerificationService {
     }
 
     /**
-     * Extracts the signed content bytes based on the PDF signature's byte range.
+     * Performs the time-independent part of verification: the CMS integrity check and
+     * extraction of the signer certificate.
      */
-    private byte[] extractSignedContent(PDSignature signature, byte[] pdfBytes) throws IOException {
-        int[] byteRange = signature.getByteRange();
-        if (byteRange == null || byteRange.length != 4) {
-            throw new IOException("Invalid signature byte range");
+    private SignatureCheck checkSignature(SignatureData signature, PrecomputedDigest contentDigest,
+                                          ByteBuffer pdfData) throws Exception {
+        if (signature.cms() == null) {
+            throw signature.parseError();
         }
 
-        int fileSize = pdfBytes.length;
-        for (int i = 0; i < byteRange.length; i += 2) {
-            int start = byteRange[i];
-            int length = byteRange[i + 1];
-            if (start < 0 || length < 0 || start + length > fileSize) {
-                throw new IOException("Signature byte range is outside of PDF content");
-            }
+        // Reuse the already parsed structure; only the signed content is attached here.
+        CMSSignedData cmsSignedData;
+        if (contentDigest != null) {
+            // The signer's messageDigest attribute is checked against the supplied digest.
+            cmsSignedData = new CMSSignedData(
+                    Map.of(contentDigest.algorithm(), contentDigest.value()),
+                    signature.cms().toASN1Structure());
+        } else {
+            cmsSignedData = new CMSSignedData(new ByteRangeContent(pdfData, signature.byteRange()),
+                    signature.cms().toASN1Structure());
         }
 
-        ByteArrayOutputStream output = new ByteArrayOutputStream();
-        for (int i = 0; i < byteRange.length; i += 2) {
-            int start = byteRange[i];
-            int length = byteRange[i + 1];
-            output.write(pdfBytes, start, length);
-        }
-        return output.toByteArray();
-    }
-
-    /**
-     * Verifies CMS signature integrity (cryptographic signature over the signed bytes).
-     */
-    private boolean verifySignatureIntegrity(CMSSignedData cmsSignedData) throws Exception {
-        SignerInformationStore signerInfos = cmsSignedData.getSignerInfos();
-        Iterator<SignerInformation> it = signerInfos.getSigners().iterator();
+        Iterator<SignerInformation> it = cmsSignedData.getSignerInfos().getSigners().iterator();
         if (!it.hasNext()) {
             throw new CMSException("No signer information present");
         }
-
         SignerInformation signerInformation = it.next();
 
         Store<X509CertificateHolder> certificatesStore = cmsSignedData.getCertificates();
@@ -215,42 +338,36 @@ public class PdfVerificationServiceImpl implements PdfVerificationService {
             throw new CMSException("No matching certificate for signer");
         }
 
-        X509CertificateHolder certHolder = certIt.next();
-        X509Certificate signerCert = new JcaX509CertificateConverter()
-                .setProvider("BC")
-                .getCertificate(certHolder);
+        // Integrity check – verify CMS signature over the signed content.
+        SignerVerifierCache.CachedSigner signer = signerVerifierCache.get(certIt.next());
+        boolean integrityValid = signerInformation.verify(signer.verifier());
 
-        return signerInformation.verify(
-                new JcaSimpleSignerInfoVerifierBuilder()
-                        .setProvider("BC")
-                        .build(signerCert)
-        );
+        List<byte[]> embeddedCertificates = new ArrayList<>();
+        for (X509CertificateHolder holder : certificatesStore.getMatches(null)) {
+            embeddedCertificates.add(holder.getEncoded());
+        }
+
+        return new SignatureCheck(integrityValid, signer.encoded(), embeddedCertificates);
     }
 
     /**
-     * Extracts the signer's certificate from CMS signed data.
+     * Cache key for a signature: a hash over the signed content and the {@code /Contents}
+     * value, so any change to either yields a different key. The precomputed content digest
+     * stands in for the content when available.
      */
-    private X509Certificate extractSignerCertificate(CMSSignedData cmsSignedData) throws Exception {
-        SignerInformationStore signerInfos = cmsSignedData.getSignerInfos();
-        Iterator<SignerInformation> it = signerInfos.getSigners().iterator();
-        if (!it.hasNext()) {
-            return null;
-        }
-
-        SignerInformation signerInformation = it.next();
-
-        Store<X509CertificateHolder> certificatesStore = cmsSignedData.getCertificates();
-        @SuppressWarnings("unchecked")
-        Iterator<X509CertificateHolder> certIt =
-                certificatesStore.getMatches(signerInformation.getSID()).iterator();
-        if (!certIt.hasNext()) {
-            return null;
+    private String cacheKey(SignatureData signature, PrecomputedDigest contentDigest,
+                            ByteBuffer pdfData) throws Exception {
+        MessageDigest keyDigest = MessageDigest.getInstance("SHA-256");
+        if (contentDigest != null) {
+            keyDigest.update(contentDigest.algorithm().getEncoded());
+            keyDigest.update(contentDigest.value());
+        } else {
+            try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), keyDigest)) {
+                new ByteRangeContent(pdfData, signature.byteRange()).write(out);
+            }
         }
-
-        X509CertificateHolder certHolder = certIt.next();
-        return new JcaX509CertificateConverter()
-                .setProvider("BC")
-                .getCertificate(certHolder);
+        keyDigest.update(signature.contents());
+        return Hex.toHexString(keyDigest.digest());
     }
 
     /**
@@ -267,19 +384,20 @@ public class PdfVerificationServiceImpl implements PdfVerificationService {
     }
 
     /**
-     * Determines whether the signer certificate is trusted.
-     * <p>
-     * For now, this implementation considers a certificate trusted if it matches
-     * the certificate configured for signing in the keystore. This can be
-     * extended later to perform full chain/OCSP/CRL validation.
+     * Whether the signer certificate is one of the signing certificates in the keystore
+     * (any alias of {@link SignerRegistry}), which are trusted without chain or revocation
+     * checks. Other signers are trusted through a validated PKIX path to a configured
+     * trust anchor.
      */
-    private boolean isTrustedSigner(X509Certificate signerCert) {
-        if (!(certificate instanceof X509Certificate configuredCert)) {
-            return false;
+    private boolean isConfiguredSigner(X509Certificate signerCert) {
+        for (String alias : signerRegistry.getAliases()) {
+            // Compares the encoded certificates, so a look-alike with the same subject and
+            // serial number is not mistaken for a configured signer.
+            if (signerRegistry.get(alias).getCertificate().equals(signerCert)) {
+                return true;
+            }
         }
-
-        return configuredCert.getSerialNumber().equals(signerCert.getSerialNumber())
-                && configuredCert.getSubjectX500Principal().equals(signerCert.getSubjectX500Principal());
+        return false;
     }
 
     /**
@@ -299,6 +417,49 @@ public class PdfVerificationServiceImpl implements PdfVerificationService {
         }
         return dn;
     }
-}
 
+    /**
+     * Snapshot of the parts of a {@link PDSignature} needed for verification, with its CMS
+     * structure parsed once. {@code cms} is {@code null} and {@code parseError} set when the
+     * signature value cannot be parsed.
+     */
+    private record SignatureData(String name, Calendar signDate, int[] byteRange, byte[] contents,
+                                 CMSSignedData cms, Exception parseError) {
+
+        static SignatureData of(PDSignature signature) {
+            byte[] contents = signature.getContents();
+            CMSSignedData cms = null;
+            Exception parseError = null;
+            try {
+                cms = new CMSSignedData(contents);
+            } catch (Exception e) {
+                parseError = e;
+            }
+            return new SignatureData(
+                    signature.getName(),
+                    signature.getSignDate(),
+                    signature.getByteRange(),
+                    contents,
+                    cms,
+                    parseError
+            );
+        }
+
+        /**
+         * Digest algorithm OID of the first signer, or {@code null} if unavailable.
+         */
+        String digestAlgorithm() {
+            if (cms == null) {
+                return null;
+            }
+            Iterator<SignerInformation> it = cms.getSignerInfos().getSigners().iterator();
+            return it.hasNext() ? it.next().getDigestAlgOID() : null;
+        }
+    }
 
+    /**
+     * Digest of a signature's byte range together with the algorithm it was computed with.
+     */
+    private record PrecomputedDigest(ASN1ObjectIdentifier algorithm, byte[] value) {
+    }
+}
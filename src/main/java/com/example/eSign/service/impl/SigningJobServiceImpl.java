@@ -0,0 +1,98 @@
+package com.example.eSign.service.impl;
+
+import com.example.eSign.codec.Base64Content;
+import com.example.eSign.dto.PdfSignBase64Request;
+import com.example.eSign.dto.SigningJobRequest;
+import com.example.eSign.dto.SigningJobResponse;
+import com.example.eSign.exception.ResourceNotFoundException;
+import com.example.eSign.job.CallbackUrlPolicy;
+import com.example.eSign.job.SigningJob;
+import com.example.eSign.job.SigningJobStatus;
+import com.example.eSign.job.SigningJobStore;
+import com.example.eSign.service.SigningJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SigningJobServiceImpl implements SigningJobService {
+
+    private final SigningJobStore signingJobStore;
+    private final CallbackUrlPolicy callbackUrlPolicy;
+
+    // All dates in responses should be in IST with pattern yyyy-MM-dd HH:mm:ss
+    private static final DateTimeFormatter RESPONSE_DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final ZoneId IST_ZONE = ZoneId.of("Asia/Kolkata");
+
+    @Override
+    public SigningJobResponse submit(SigningJobRequest request) {
+        PdfSignBase64Request document = request != null ? request.getDocument() : null;
+        if (document == null || document.getPdfBase64() == null || document.getPdfBase64().isEmpty()) {
+            throw new IllegalArgumentException("pdfBase64 is required");
+        }
+        if (!document.getPdfBase64().isValid()) {
+            throw new IllegalArgumentException("Invalid base64 PDF content", document.getPdfBase64().getError());
+        }
+        if (request.getCallbackUrl() != null && !request.getCallbackUrl().isBlank()) {
+            callbackUrlPolicy.validate(request.getCallbackUrl());
+        }
+
+        long now = System.currentTimeMillis();
+        SigningJob job = new SigningJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setStatus(SigningJobStatus.QUEUED);
+        job.setFileName(document.getFileName());
+        job.setAlias(document.getAlias());
+        job.setCallbackUrl(request.getCallbackUrl());
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+
+        // Input must be in place before the id becomes visible on the queue. The store keeps
+        // text, so the decoded request content is encoded again here.
+        try (Base64Content pdfContent = document.getPdfBase64()) {
+            signingJobStore.saveInput(job.getId(), pdfContent.toBase64());
+        }
+        signingJobStore.save(job);
+        signingJobStore.enqueue(job.getId());
+
+        log.info("Submitted signing job {}", job.getId());
+        return toResponse(job, null);
+    }
+
+    @Override
+    public SigningJobResponse getJob(String jobId) {
+        SigningJob job = signingJobStore.find(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Signing job not found: " + jobId));
+
+        String signedPdfBase64 = job.getStatus() == SigningJobStatus.COMPLETED
+                ? signingJobStore.getResult(jobId)
+                : null;
+        return toResponse(job, signedPdfBase64);
+    }
+
+    private SigningJobResponse toResponse(SigningJob job, String signedPdfBase64) {
+        return new SigningJobResponse(
+                job.getId(),
+                job.getStatus().name(),
+                job.getFileName(),
+                formatTimestamp(job.getCreatedAt()),
+                formatTimestamp(job.getUpdatedAt()),
+                job.getError(),
+                signedPdfBase64
+        );
+    }
+
+    private String formatTimestamp(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis)
+                .atZone(IST_ZONE)
+                .format(RESPONSE_DATE_FORMATTER);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.eSign.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs the tasks of one request on a shared executor with at most {@code parallelism} of
+ * them in flight at a time, and collects their results in submission order.
+ * <p>
+ * The shared executors are sized to the node; the bound additionally caps how many of their
+ * threads a single request may occupy, so one large batch cannot starve other traffic.
+ * {@link #submit} blocks while the request is at its bound. If the executor rejects a task
+ * because it is saturated, the task's fallback runs on the calling thread instead.
+ *
+ * @param <T> task result type
+ */
+public final class BoundedFanOut<T> {
+
+    private final Executor executor;
+    private final Semaphore inFlight;
+    private final List<CompletableFuture<T>> futures = new ArrayList<>();
+
+    public BoundedFanOut(Executor executor, int parallelism) {
+        this.executor = executor;
+        this.inFlight = new Semaphore(Math.max(1, parallelism));
+    }
+
+    /**
+     * Submits a task, waiting for a free slot first.
+     *
+     * @param task       work to run on the executor
+     * @param onRejected result to use, computed on the calling thread, if the executor
+     *                   rejects the task
+     */
+    public void submit(Supplier<T> task, Supplier<T> onRejected) {
+        inFlight.acquireUninterruptibly();
+        try {
+            futures.add(CompletableFuture
+                    .supplyAsync(task, executor)
+                    .whenComplete((result, error) -> inFlight.release()));
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            futures.add(CompletableFuture.completedFuture(onRejected.get()));
+        }
+    }
+
+    /**
+     * Waits for every submitted task.
+     *
+     * @return results in submission order
+     * @throws java.util.concurrent.CompletionException if a task failed
+     */
+    public List<T> join() {
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+}
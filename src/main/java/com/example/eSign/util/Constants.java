@@ -21,9 +21,17 @@ public class Constants {
     public static final String FILE_INVALID_BASE64_IN_FILE = "Invalid base64 data in file: %s";
     public static final String FILE_NOT_EXISTS = "Input file does not exist: %s";
     public static final String UNEXPECTED_ERROR = "Unexpected error: %s";
+    public static final String BULK_FIELDS_REQUIRED = "sourceDirectory and targetDirectory are required";
+    public static final String BULK_SOURCE_NOT_DIRECTORY = "Source directory does not exist: %s";
+
+    // Request Messages
+    public static final String MALFORMED_REQUEST_BODY = "Malformed request body";
     
     // HTTP Status Codes
+    public static final int HTTP_STATUS_ACCEPTED = 202;
     public static final int HTTP_STATUS_BAD_REQUEST = 400;
+    public static final int HTTP_STATUS_NOT_FOUND = 404;
+    public static final int HTTP_STATUS_UNPROCESSABLE_ENTITY = 422;
     public static final int HTTP_STATUS_INTERNAL_SERVER_ERROR = 500;
     
     // Boolean Values
@@ -34,6 +42,7 @@ public class Constants {
     public static final String STATUS_SUCCESS = "SUCCESS";
     public static final String STATUS_ERROR = "ERROR";
     public static final String STATUS_FAILURE = "FAILURE";
+    public static final String STATUS_PARTIAL_SUCCESS = "PARTIAL_SUCCESS";
     
     private Constants() {
         // Utility class
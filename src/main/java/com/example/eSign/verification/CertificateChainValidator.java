@@ -0,0 +1,222 @@
+package com.example.eSign.verification;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.util.encoders.Hex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.SignatureException;
+import java.security.cert.CertPath;
+import java.security.cert.CertPathValidator;
+import java.security.cert.CertPathValidatorException;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.PKIXParameters;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds and validates a PKIX certification path from a signer certificate to one of the
+ * configured trust anchors.
+ * <p>
+ * Issuers are looked up through the {@link TrustAnchorStore} indexes and the certificates
+ * embedded in the CMS signature, then the assembled path is checked with the JDK PKIX
+ * {@link CertPathValidator}. Validated paths are cached per signer certificate until the
+ * earliest expiry in the path or the cache TTL, so repeat signers skip path building.
+ * Latency is recorded in the {@code esign.verification.chain} timer, tagged with the outcome.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CertificateChainValidator {
+
+    private static final int MAX_PATH_LENGTH = 10;
+    private static final String METRIC_NAME = "esign.verification.chain";
+
+    private final TrustAnchorStore trustAnchorStore;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.trust.path-cache.max-entries:1000}")
+    private int pathCacheMaxEntries;
+
+    @Value("${app.trust.path-cache.ttl:1h}")
+    private Duration pathCacheTtl;
+
+    private final Map<String, CachedPath> pathCache = new ConcurrentHashMap<>();
+
+    private Timer cachedTimer;
+    private Timer validTimer;
+    private Timer untrustedTimer;
+
+    @PostConstruct
+    public void registerMetrics() {
+        cachedTimer = Timer.builder(METRIC_NAME).tag("result", "cached").register(meterRegistry);
+        validTimer = Timer.builder(METRIC_NAME).tag("result", "valid").register(meterRegistry);
+        untrustedTimer = Timer.builder(METRIC_NAME).tag("result", "untrusted").register(meterRegistry);
+    }
+
+    /**
+     * Validates a path from {@code signer} to a trust anchor.
+     *
+     * @param signer               signer certificate
+     * @param embeddedCertificates DER-encoded certificates carried in the signature, used as
+     *                             candidate intermediates
+     * @return the validated path, or empty if no trusted path exists; unexpected failures
+     *         are logged and also treated as untrusted
+     */
+    public Optional<ValidatedPath> validate(X509Certificate signer, List<byte[]> embeddedCertificates) {
+        long start = System.nanoTime();
+        Timer timer = untrustedTimer;
+        try {
+            String key = fingerprint(signer);
+            CachedPath cached = pathCache.get(key);
+            long now = System.currentTimeMillis();
+            if (cached != null && cached.expiresAt() > now) {
+                timer = cachedTimer;
+                return Optional.of(cached.path());
+            }
+
+            Optional<ValidatedPath> path = buildAndValidate(signer, embeddedCertificates);
+            if (path.isPresent()) {
+                timer = validTimer;
+                cache(key, path.get(), now);
+            }
+            return path;
+        } catch (CertificateException e) {
+            // Unparseable embedded certificates come from the signed document, not from us.
+            log.debug("Certificate chain validation failed: {}", e.getMessage());
+            return Optional.empty();
+        } catch (GeneralSecurityException | RuntimeException e) {
+            log.warn("Unexpected error validating certificate chain for {}",
+                    signer.getSubjectX500Principal().getName(), e);
+            return Optional.empty();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Optional<ValidatedPath> buildAndValidate(X509Certificate signer, List<byte[]> embeddedCertificates)
+            throws GeneralSecurityException {
+        if (trustAnchorStore.isAnchor(signer)) {
+            return Optional.of(new ValidatedPath(Collections.emptyList(), signer));
+        }
+
+        TrustAnchorStore.CertificateIndex embedded =
+                new TrustAnchorStore.CertificateIndex(parse(embeddedCertificates));
+        List<X509Certificate> chain = new ArrayList<>();
+        chain.add(signer);
+        X509Certificate current = signer;
+
+        while (chain.size() <= MAX_PATH_LENGTH) {
+            X509Certificate anchor = findIssuer(current, trustAnchorStore.findAnchorIssuers(current));
+            if (anchor != null) {
+                return validatePath(chain, anchor);
+            }
+
+            X509Certificate next = findIssuer(current, embedded.findIssuers(current));
+            if (next == null) {
+                next = findIssuer(current, trustAnchorStore.findIntermediateIssuers(current));
+            }
+            if (next == null || chain.contains(next)) {
+                return Optional.empty();
+            }
+            chain.add(next);
+            current = next;
+        }
+        return Optional.empty();
+    }
+
+    private Optional<ValidatedPath> validatePath(List<X509Certificate> chain, X509Certificate anchor)
+            throws GeneralSecurityException {
+        CertPath certPath = CertificateFactory.getInstance("X.509").generateCertPath(chain);
+        PKIXParameters parameters = new PKIXParameters(Collections.singleton(new TrustAnchor(anchor, null)));
+        // Revocation is checked separately so it can be served from a local cache.
+        parameters.setRevocationEnabled(false);
+
+        try {
+            CertPathValidator.getInstance("PKIX").validate(certPath, parameters);
+            return Optional.of(new ValidatedPath(List.copyOf(chain), anchor));
+        } catch (CertPathValidatorException e) {
+            log.debug("PKIX validation failed for {}: {}",
+                    chain.get(0).getSubjectX500Principal().getName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the first candidate whose key verifies the signature on {@code certificate}.
+     */
+    private static X509Certificate findIssuer(X509Certificate certificate, List<X509Certificate> candidates) {
+        for (X509Certificate candidate : candidates) {
+            try {
+                certificate.verify(candidate.getPublicKey());
+                return candidate;
+            } catch (SignatureException | InvalidKeyException e) {
+                // Not the issuer; try the next candidate.
+            } catch (GeneralSecurityException e) {
+                log.warn("Could not check {} as issuer of {}: {}",
+                        candidate.getSubjectX500Principal().getName(),
+                        certificate.getSubjectX500Principal().getName(), e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private void cache(String key, ValidatedPath path, long now) {
+        long expiresAt = now + pathCacheTtl.toMillis();
+        for (X509Certificate certificate : path.certificates()) {
+            expiresAt = Math.min(expiresAt, certificate.getNotAfter().getTime());
+        }
+        expiresAt = Math.min(expiresAt, path.anchor().getNotAfter().getTime());
+
+        if (pathCache.size() >= pathCacheMaxEntries) {
+            pathCache.clear();
+        }
+        pathCache.put(key, new CachedPath(path, expiresAt));
+    }
+
+    private static List<X509Certificate> parse(List<byte[]> encodedCertificates) throws CertificateException {
+        if (encodedCertificates == null || encodedCertificates.isEmpty()) {
+            return Collections.emptyList();
+        }
+        CertificateFactory factory = CertificateFactory.getInstance("X.509");
+        List<X509Certificate> certificates = new ArrayList<>(encodedCertificates.size());
+        for (byte[] encoded : encodedCertificates) {
+            certificates.add((X509Certificate) factory.generateCertificate(new ByteArrayInputStream(encoded)));
+        }
+        return certificates;
+    }
+
+    private static String fingerprint(X509Certificate certificate) throws GeneralSecurityException {
+        return Hex.toHexString(MessageDigest.getInstance("SHA-256").digest(certificate.getEncoded()));
+    }
+
+    /**
+     * A validated certification path.
+     *
+     * @param certificates signer certificate first, followed by intermediates; empty when the
+     *                     signer certificate is itself a trust anchor
+     * @param anchor       trust anchor certificate the path ends at
+     */
+    public record ValidatedPath(List<X509Certificate> certificates, X509Certificate anchor) {
+    }
+
+    private record CachedPath(ValidatedPath path, long expiresAt) {
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.eSign.verification;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.asn1.ASN1IA5String;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.ocsp.OCSPObjectIdentifiers;
+import org.bouncycastle.asn1.x509.AccessDescription;
+import org.bouncycastle.asn1.x509.AuthorityInformationAccess;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateHolder;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.OCSPReq;
+import org.bouncycastle.cert.ocsp.OCSPReqBuilder;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.RevokedStatus;
+import org.bouncycastle.cert.ocsp.SingleResp;
+import org.bouncycastle.operator.jcajce.JcaContentVerifierProviderBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.SecureRandom;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation source that queries the OCSP responder named in a certificate's authority
+ * information access extension, falling back to its CRL distribution points.
+ * <p>
+ * Downloaded CRLs are cached by URL until their nextUpdate, so certificates from the same
+ * issuer share one download. All requests go through one shared {@link HttpClient}.
+ * <p>
+ * OCSP requests carry a random nonce, which must be echoed if the responder returns one;
+ * responders that only serve pre-produced responses omit it, and those responses are
+ * accepted unless {@code app.revocation.ocsp.require-nonce} is set. Either way, OCSP
+ * responses and CRLs must be current: thisUpdate may not lie in the future, nextUpdate may
+ * not have passed and, without a nextUpdate, thisUpdate may be at most
+ * {@code app.revocation.max-age} old, all within {@code app.revocation.clock-skew}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.revocation.mode", havingValue = "live", matchIfMissing = true)
+public class NetworkRevocationSource implements RevocationSource {
+
+    private static final String OCSP_REQUEST_CONTENT_TYPE = "application/ocsp-request";
+    private static final int NONCE_LENGTH = 32;
+
+    @Value("${app.revocation.timeout:3s}")
+    private Duration timeout;
+
+    @Value("${app.revocation.clock-skew:5m}")
+    private Duration clockSkew;
+
+    @Value("${app.revocation.max-age:1d}")
+    private Duration maxAge;
+
+    @Value("${app.revocation.ocsp.require-nonce:false}")
+    private boolean requireNonce;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, CachedCrl> crlCache = new ConcurrentHashMap<>();
+    private HttpClient httpClient;
+
+    @PostConstruct
+    public void init() {
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public Result fetch(X509Certificate certificate, X509Certificate issuer) throws IOException {
+        IOException lastError = null;
+
+        for (String url : ocspUrls(certificate)) {
+            try {
+                return queryOcsp(url, certificate, issuer);
+            } catch (Exception e) {
+                log.debug("OCSP query to {} failed: {}", url, e.getMessage());
+                lastError = e instanceof IOException io ? io : new IOException(e.getMessage(), e);
+            }
+        }
+
+        for (String url : crlUrls(certificate)) {
+            try {
+                X509CRL crl = getCrl(url, issuer);
+                RevocationStatus status = crl.isRevoked(certificate)
+                        ? RevocationStatus.REVOKED
+                        : RevocationStatus.GOOD;
+                return new Result(status, crl.getNextUpdate() != null ? crl.getNextUpdate().toInstant() : null);
+            } catch (Exception e) {
+                log.debug("CRL download from {} failed: {}", url, e.getMessage());
+                lastError = e instanceof IOException io ? io : new IOException(e.getMessage(), e);
+            }
+        }
+
+        if (lastError != null) {
+            throw lastError;
+        }
+        // No responder is advertised, so there is nothing to ask.
+        return new Result(RevocationStatus.UNKNOWN, null);
+    }
+
+    private Result queryOcsp(String url, X509Certificate certificate, X509Certificate issuer) throws Exception {
+        X509CertificateHolder issuerHolder = new JcaX509CertificateHolder(issuer);
+        CertificateID certificateId = new CertificateID(
+                new JcaDigestCalculatorProviderBuilder().build().get(CertificateID.HASH_SHA1),
+                issuerHolder,
+                certificate.getSerialNumber());
+        byte[] nonceValue = new byte[NONCE_LENGTH];
+        random.nextBytes(nonceValue);
+        Extension nonce = new Extension(OCSPObjectIdentifiers.id_pkix_ocsp_nonce, false,
+                new DEROctetString(new DEROctetString(nonceValue)));
+        OCSPReq request = new OCSPReqBuilder()
+                .addRequest(certificateId)
+                .setRequestExtensions(new Extensions(nonce))
+                .build();
+
+        byte[] body = post(url, OCSP_REQUEST_CONTENT_TYPE, request.getEncoded());
+        OCSPResp response = new OCSPResp(body);
+        if (response.getStatus() != OCSPResp.SUCCESSFUL) {
+            throw new IOException("OCSP responder returned status " + response.getStatus());
+        }
+
+        BasicOCSPResp basic = (BasicOCSPResp) response.getResponseObject();
+        if (!isResponderAuthorised(basic, issuerHolder)) {
+            throw new IOException("OCSP response is not signed by the issuer or an authorised responder");
+        }
+        Extension responseNonce = basic.getExtension(OCSPObjectIdentifiers.id_pkix_ocsp_nonce);
+        if (responseNonce != null ? !responseNonce.getExtnValue().equals(nonce.getExtnValue()) : requireNonce) {
+            throw new IOException("OCSP response nonce is missing or does not match the request");
+        }
+
+        for (SingleResp single : basic.getResponses()) {
+            if (!single.getCertID().equals(certificateId)) {
+                continue;
+            }
+            checkFreshness("OCSP response", single.getThisUpdate(), single.getNextUpdate());
+            CertificateStatus certStatus = single.getCertStatus();
+            RevocationStatus status;
+            if (certStatus == CertificateStatus.GOOD) {
+                status = RevocationStatus.GOOD;
+            } else if (certStatus instanceof RevokedStatus) {
+                status = RevocationStatus.REVOKED;
+            } else {
+                status = RevocationStatus.UNKNOWN;
+            }
+            return new Result(status, single.getNextUpdate() != null ? single.getNextUpdate().toInstant() : null);
+        }
+        throw new IOException("OCSP response does not cover the requested certificate");
+    }
+
+    /**
+     * Accepts responses signed by the issuing CA itself, or by a currently valid responder
+     * certificate the CA issued for OCSP signing.
+     */
+    private boolean isResponderAuthorised(BasicOCSPResp basic, X509CertificateHolder issuer) throws Exception {
+        JcaContentVerifierProviderBuilder verifiers = new JcaContentVerifierProviderBuilder().setProvider("BC");
+        if (basic.isSignatureValid(verifiers.build(issuer))) {
+            return true;
+        }
+        Date now = new Date();
+        for (X509CertificateHolder responder : basic.getCerts()) {
+            ExtendedKeyUsage keyUsage = responder.getExtensions() != null
+                    ? ExtendedKeyUsage.fromExtensions(responder.getExtensions())
+                    : null;
+            boolean delegated = keyUsage != null
+                    && keyUsage.hasKeyPurposeId(KeyPurposeId.id_kp_OCSPSigning)
+                    && responder.getIssuer().equals(issuer.getSubject())
+                    && responder.isValidOn(now)
+                    && responder.isSignatureValid(verifiers.build(issuer));
+            if (delegated && basic.isSignatureValid(verifiers.build(responder))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private X509CRL getCrl(String url, X509Certificate issuer) throws Exception {
+        CachedCrl cached = crlCache.get(url);
+        if (cached != null && cached.nextUpdate().isAfter(Instant.now())) {
+            return cached.crl();
+        }
+
+        byte[] body = get(url);
+        X509CRL crl = (X509CRL) CertificateFactory.getInstance("X.509")
+                .generateCRL(new ByteArrayInputStream(body));
+        crl.verify(issuer.getPublicKey());
+        checkFreshness("CRL from " + url, crl.getThisUpdate(), crl.getNextUpdate());
+
+        if (crl.getNextUpdate() != null) {
+            crlCache.put(url, new CachedCrl(crl, crl.getNextUpdate().toInstant()));
+        }
+        return crl;
+    }
+
+    /**
+     * Rejects revocation data issued in the future or no longer current.
+     */
+    private void checkFreshness(String source, Date thisUpdate, Date nextUpdate) throws IOException {
+        Instant now = Instant.now();
+        if (thisUpdate == null || thisUpdate.toInstant().isAfter(now.plus(clockSkew))) {
+            throw new IOException(source + " has no valid thisUpdate");
+        }
+        if (nextUpdate != null) {
+            if (nextUpdate.toInstant().isBefore(now.minus(clockSkew))) {
+                throw new IOException(source + " expired at " + nextUpdate.toInstant());
+            }
+        } else if (thisUpdate.toInstant().isBefore(now.minus(maxAge).minus(clockSkew))) {
+            throw new IOException(source + " is older than " + maxAge);
+        }
+    }
+
+    private byte[] post(String url, String contentType, byte[] payload) throws IOException {
+        return send(HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(payload))
+                .build());
+    }
+
+    private byte[] get(String url) throws IOException {
+        return send(HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .GET()
+                .build());
+    }
+
+    private byte[] send(HttpRequest request) throws IOException {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP " + response.statusCode() + " from " + request.uri());
+            }
+            return response.body();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while contacting " + request.uri(), e);
+        }
+    }
+
+    private static List<String> ocspUrls(X509Certificate certificate) {
+        List<String> urls = new ArrayList<>();
+        byte[] extension = certificate.getExtensionValue(Extension.authorityInfoAccess.getId());
+        if (extension == null) {
+            return urls;
+        }
+        AuthorityInformationAccess access = AuthorityInformationAccess.getInstance(
+                ASN1OctetString.getInstance(extension).getOctets());
+        for (AccessDescription description : access.getAccessDescriptions()) {
+            if (AccessDescription.id_ad_ocsp.equals(description.getAccessMethod())) {
+                addHttpUrl(description.getAccessLocation(), urls);
+            }
+        }
+        return urls;
+    }
+
+    private static List<String> crlUrls(X509Certificate certificate) {
+        List<String> urls = new ArrayList<>();
+        byte[] extension = certificate.getExtensionValue(Extension.cRLDistributionPoints.getId());
+        if (extension == null) {
+            return urls;
+        }
+        CRLDistPoint distPoint = CRLDistPoint.getInstance(ASN1OctetString.getInstance(extension).getOctets());
+        for (DistributionPoint point : distPoint.getDistributionPoints()) {
+            DistributionPointName name = point.getDistributionPoint();
+            if (name == null || name.getType() != DistributionPointName.FULL_NAME) {
+                continue;
+            }
+            for (GeneralName generalName : GeneralNames.getInstance(name.getName()).getNames()) {
+                addHttpUrl(generalName, urls);
+            }
+        }
+        return urls;
+    }
+
+    private static void addHttpUrl(GeneralName name, List<String> urls) {
+        if (name.getTagNo() != GeneralName.uniformResourceIdentifier) {
+            return;
+        }
+        String url = ASN1IA5String.getInstance(name.getName()).getString();
+        if (url.startsWith("http://") || url.startsWith("https://")) {
+            urls.add(url);
+        }
+    }
+
+    private record CachedCrl(X509CRL crl, Instant nextUpdate) {
+    }
+}
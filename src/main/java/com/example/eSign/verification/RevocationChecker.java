@@ -0,0 +1,266 @@
+package com.example.eSign.verification;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.util.encoders.Hex;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revocation checking for validated certificate paths, served from a shared local cache.
+ * <p>
+ * Each status is cached until the responder's nextUpdate (or {@code app.revocation.default-validity}
+ * when none is given), so verification only waits on the network on a cache miss;
+ * concurrent misses for the same certificate share one lookup. A background prefetcher
+ * refreshes recently used entries shortly before they expire, keeping hot issuers warm.
+ * <p>
+ * Whether an undeterminable status is accepted is controlled by {@code app.revocation.policy}
+ * ({@code fail-open} or {@code fail-closed}). With {@code app.revocation.mode=off} no
+ * source is configured and every certificate is reported as good.
+ */
+@Slf4j
+@Component
+public class RevocationChecker {
+
+    private final RevocationSource revocationSource;
+
+    @Value("${app.revocation.policy:fail-open}")
+    private String policy;
+
+    @Value("${app.revocation.default-validity:1h}")
+    private Duration defaultValidity;
+
+    @Value("${app.revocation.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.revocation.prefetch.interval:5m}")
+    private Duration prefetchInterval;
+
+    @Value("${app.revocation.prefetch.refresh-ahead:10m}")
+    private Duration refreshAhead;
+
+    private final Map<String, CachedStatus> cache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<RevocationStatus>> inFlight = new ConcurrentHashMap<>();
+    private ScheduledExecutorService prefetcher;
+
+    public RevocationChecker(ObjectProvider<RevocationSource> revocationSource) {
+        this.revocationSource = revocationSource.getIfAvailable();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (revocationSource == null) {
+            log.info("Revocation checking disabled");
+            return;
+        }
+
+        prefetcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "esign-revocation-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = prefetchInterval.toMillis();
+        prefetcher.scheduleWithFixedDelay(this::prefetch, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Revocation checking enabled ({}) using {}", policy, revocationSource.getClass().getSimpleName());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (prefetcher != null) {
+            prefetcher.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the combined status of every certificate in a validated path: revoked if any
+     * certificate is revoked, unknown if any status could not be determined.
+     */
+    public RevocationStatus check(CertificateChainValidator.ValidatedPath path) {
+        if (revocationSource == null) {
+            return RevocationStatus.GOOD;
+        }
+
+        List<X509Certificate> certificates = path.certificates();
+        RevocationStatus combined = RevocationStatus.GOOD;
+        for (int i = 0; i < certificates.size(); i++) {
+            X509Certificate issuer = i + 1 < certificates.size() ? certificates.get(i + 1) : path.anchor();
+            RevocationStatus status = check(certificates.get(i), issuer);
+            if (status == RevocationStatus.REVOKED) {
+                return status;
+            }
+            if (status == RevocationStatus.UNKNOWN) {
+                combined = RevocationStatus.UNKNOWN;
+            }
+        }
+        return combined;
+    }
+
+    /**
+     * Whether a certificate with the given status may be trusted under the configured policy.
+     */
+    public boolean isAcceptable(RevocationStatus status) {
+        return switch (status) {
+            case GOOD -> true;
+            case REVOKED -> false;
+            case UNKNOWN -> !"fail-closed".equalsIgnoreCase(policy);
+        };
+    }
+
+    private RevocationStatus check(X509Certificate certificate, X509Certificate issuer) {
+        String key;
+        try {
+            key = cacheKey(certificate, issuer);
+        } catch (Exception e) {
+            return RevocationStatus.UNKNOWN;
+        }
+
+        CachedStatus cached = cache.get(key);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            cached.touch();
+            return cached.status();
+        }
+
+        CompletableFuture<RevocationStatus> pending = new CompletableFuture<>();
+        CompletableFuture<RevocationStatus> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            return existing.join();
+        }
+
+        try {
+            RevocationStatus status = refresh(key, certificate, issuer, Instant.now());
+            pending.complete(status);
+            return status;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    /**
+     * Fetches a fresh status and caches it. Failures, including a status whose nextUpdate has
+     * already passed, yield {@link RevocationStatus#UNKNOWN}, which is cached only briefly so
+     * the next request retries.
+     */
+    private RevocationStatus refresh(String key, X509Certificate certificate, X509Certificate issuer,
+                                     Instant lastAccess) {
+        Instant now = Instant.now();
+        RevocationStatus status;
+        Instant expiresAt;
+        try {
+            RevocationSource.Result result = revocationSource.fetch(certificate, issuer);
+            if (result.nextUpdate() != null && !result.nextUpdate().isAfter(now)) {
+                throw new IllegalStateException("status expired at " + result.nextUpdate());
+            }
+            status = result.status();
+            expiresAt = result.nextUpdate() != null ? result.nextUpdate() : now.plus(defaultValidity);
+        } catch (Exception e) {
+            log.warn("Revocation status unavailable for {}: {}",
+                    certificate.getSubjectX500Principal().getName(), e.getMessage());
+            status = RevocationStatus.UNKNOWN;
+            expiresAt = now.plus(Duration.ofSeconds(30));
+        }
+
+        if (cache.size() >= maxEntries) {
+            cache.clear();
+        }
+        cache.put(key, new CachedStatus(status, expiresAt, certificate, issuer, lastAccess));
+        return status;
+    }
+
+    /**
+     * Refreshes entries that were used since the previous run and expire before the next
+     * one (plus the refresh-ahead margin), and drops entries nobody has asked for.
+     */
+    private void prefetch() {
+        Instant now = Instant.now();
+        Instant horizon = now.plus(prefetchInterval).plus(refreshAhead);
+        Instant hotSince = now.minus(prefetchInterval.multipliedBy(2));
+        int refreshed = 0;
+
+        for (Map.Entry<String, CachedStatus> entry : cache.entrySet()) {
+            CachedStatus cached = entry.getValue();
+            if (cached.lastAccess().isBefore(hotSince)) {
+                if (cached.expiresAt().isBefore(now)) {
+                    cache.remove(entry.getKey(), cached);
+                }
+                continue;
+            }
+            if (cached.expiresAt().isBefore(horizon)) {
+                try {
+                    // Keep the original access time so entries cool down once requests stop.
+                    refresh(entry.getKey(), cached.certificate(), cached.issuer(), cached.lastAccess());
+                    refreshed++;
+                } catch (RuntimeException e) {
+                    // A failed refresh must not cancel the scheduled prefetch task.
+                    log.debug("Revocation prefetch failed: {}", e.getMessage());
+                }
+            }
+        }
+        if (refreshed > 0) {
+            log.debug("Prefetched revocation status for {} certificate(s)", refreshed);
+        }
+    }
+
+    private static String cacheKey(X509Certificate certificate, X509Certificate issuer) throws Exception {
+        byte[] issuerHash = MessageDigest.getInstance("SHA-256").digest(issuer.getEncoded());
+        return Hex.toHexString(issuerHash) + ":" + certificate.getSerialNumber().toString(16);
+    }
+
+    private static final class CachedStatus {
+
+        private final RevocationStatus status;
+        private final Instant expiresAt;
+        private final X509Certificate certificate;
+        private final X509Certificate issuer;
+        private volatile Instant lastAccess;
+
+        private CachedStatus(RevocationStatus status, Instant expiresAt,
+                             X509Certificate certificate, X509Certificate issuer, Instant lastAccess) {
+            this.status = status;
+            this.expiresAt = expiresAt;
+            this.certificate = certificate;
+            this.issuer = issuer;
+            this.lastAccess = lastAccess;
+        }
+
+        RevocationStatus status() {
+            return status;
+        }
+
+        Instant expiresAt() {
+            return expiresAt;
+        }
+
+        X509Certificate certificate() {
+            return certificate;
+        }
+
+        X509Certificate issuer() {
+            return issuer;
+        }
+
+        Instant lastAccess() {
+            return lastAccess;
+        }
+
+        void touch() {
+            lastAccess = Instant.now();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.eSign.verification;
+
+import java.io.IOException;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+
+/**
+ * Fetches the current revocation status of a certificate from its issuer's responders.
+ */
+public interface RevocationSource {
+
+    /**
+     * @param certificate certificate to check
+     * @param issuer      certificate of the CA that issued {@code certificate}
+     * @return the status and how long it may be cached
+     * @throws IOException if no responder could be reached
+     */
+    Result fetch(X509Certificate certificate, X509Certificate issuer) throws IOException;
+
+    /**
+     * @param status     revocation status
+     * @param nextUpdate time after which the status must be refreshed, or {@code null} if
+     *                   the responder did not say
+     */
+    record Result(RevocationStatus status, Instant nextUpdate) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.eSign.verification;
+
+/**
+ * Revocation status of a certificate as reported by OCSP or a CRL.
+ */
+public enum RevocationStatus {
+    GOOD,
+    REVOKED,
+    UNKNOWN
+}
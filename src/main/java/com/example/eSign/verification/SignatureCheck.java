@@ -0,0 +1,17 @@
+package com.example.eSign.verification;
+
+import java.util.List;
+
+/**
+ * Time-independent outcome of verifying one signature: whether the CMS signature matches
+ * the signed content and which certificate produced it.
+ * <p>
+ * Certificate validity and trust are deliberately not part of this result; they depend on
+ * the current time and server configuration and are re-evaluated every time it is used.
+ *
+ * @param integrityValid       whether the signature is cryptographically valid over its byte range
+ * @param signerCertificate    DER-encoded signer certificate, or {@code null} if none was found
+ * @param embeddedCertificates DER-encoded certificates carried in the signature, used for chain building
+ */
+public record SignatureCheck(boolean integrityValid, byte[] signerCertificate, List<byte[]> embeddedCertificates) {
+}
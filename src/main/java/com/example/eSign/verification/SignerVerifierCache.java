@@ -0,0 +1,100 @@
+package com.example.eSign.verification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cms.SignerInformationVerifier;
+import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoVerifierBuilder;
+import org.bouncycastle.util.encoders.Hex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parsed signer certificates and ready-to-use {@link SignerInformationVerifier}s, keyed by
+ * the SHA-256 fingerprint of the certificate.
+ * <p>
+ * Most documents are signed by a handful of certificates, so the certificate conversion and
+ * verifier construction happen once per certificate rather than once per signature. The
+ * verifiers create a fresh {@code Signature} for every verification and can be shared
+ * across threads.
+ */
+@Slf4j
+@Component
+public class SignerVerifierCache {
+
+    @Value("${app.verification.verifier-cache.max-entries:1000}")
+    private int maxEntries;
+
+    private final Map<String, CachedSigner> signers = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached signer for a certificate embedded in a CMS structure.
+     */
+    public CachedSigner get(X509CertificateHolder certificateHolder) throws Exception {
+        byte[] encoded = certificateHolder.getEncoded();
+        String fingerprint = fingerprint(encoded);
+        CachedSigner signer = signers.get(fingerprint);
+        if (signer != null) {
+            return signer;
+        }
+        return store(fingerprint, build(certificateHolder, encoded));
+    }
+
+    /**
+     * Returns the cached signer for a DER-encoded certificate.
+     */
+    public CachedSigner get(byte[] encodedCertificate) throws Exception {
+        String fingerprint = fingerprint(encodedCertificate);
+        CachedSigner signer = signers.get(fingerprint);
+        if (signer != null) {
+            return signer;
+        }
+        return store(fingerprint, build(new X509CertificateHolder(encodedCertificate), encodedCertificate));
+    }
+
+    private CachedSigner store(String fingerprint, CachedSigner signer) {
+        if (signers.size() >= maxEntries) {
+            // Normal traffic stays far below the limit; this only guards against an
+            // unbounded stream of distinct certificates.
+            log.debug("Signer verifier cache reached {} entries, clearing", maxEntries);
+            signers.clear();
+        }
+        CachedSigner existing = signers.putIfAbsent(fingerprint, signer);
+        return existing != null ? existing : signer;
+    }
+
+    private static CachedSigner build(X509CertificateHolder certificateHolder, byte[] encoded) throws Exception {
+        X509Certificate certificate = new JcaX509CertificateConverter()
+                .setProvider("BC")
+                .getCertificate(certificateHolder);
+        SignerInformationVerifier verifier = new JcaSimpleSignerInfoVerifierBuilder()
+                .setProvider("BC")
+                .build(certificateHolder);
+        return new CachedSigner(certificate, verifier, encoded);
+    }
+
+    private static String fingerprint(byte[] encoded) throws IOException {
+        try {
+            return Hex.toHexString(MessageDigest.getInstance("SHA-256").digest(encoded));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A parsed signer certificate with its verifier.
+     *
+     * @param certificate the signer certificate
+     * @param verifier    verifier for signatures made with the certificate's key
+     * @param encoded     DER encoding of the certificate
+     */
+    public record CachedSigner(X509Certificate certificate, SignerInformationVerifier verifier, byte[] encoded) {
+    }
+}
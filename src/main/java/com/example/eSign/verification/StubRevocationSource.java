@@ -0,0 +1,46 @@
+package com.example.eSign.verification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Local stand-in responder for tests. Reports every certificate as good except the serial
+ * numbers listed in {@code app.revocation.stub.revoked-serials} (hexadecimal), without any
+ * network access.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.revocation.mode", havingValue = "stub")
+public class StubRevocationSource implements RevocationSource {
+
+    @Value("${app.revocation.stub.validity:1h}")
+    private Duration validity;
+
+    private final Set<BigInteger> revokedSerials;
+
+    public StubRevocationSource(@Value("${app.revocation.stub.revoked-serials:}") String[] revokedSerials) {
+        this.revokedSerials = Arrays.stream(revokedSerials)
+                .filter(serial -> !serial.isBlank())
+                .map(serial -> new BigInteger(serial.trim(), 16))
+                .collect(Collectors.toUnmodifiableSet());
+        log.warn("Using stub revocation responder; {} serial(s) configured as revoked", this.revokedSerials.size());
+    }
+
+    @Override
+    public Result fetch(X509Certificate certificate, X509Certificate issuer) {
+        RevocationStatus status = revokedSerials.contains(certificate.getSerialNumber())
+                ? RevocationStatus.REVOKED
+                : RevocationStatus.GOOD;
+        return new Result(status, Instant.now().plus(validity));
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.eSign.verification;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
+import org.bouncycastle.util.encoders.Hex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import javax.security.auth.x500.X500Principal;
+import java.io.InputStream;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configured trust anchors and intermediate CA certificates, indexed by subject key
+ * identifier and subject DN so the issuer of a certificate is found without scanning.
+ * <p>
+ * Certificates are read once at startup from {@code app.trust.anchors} and
+ * {@code app.trust.intermediates}, each a comma-separated list of resource locations or
+ * patterns (PEM or DER, e.g. {@code file:/etc/esign/trust/*.pem}).
+ */
+@Slf4j
+@Component
+public class TrustAnchorStore {
+
+    @Value("${app.trust.anchors:}")
+    private String[] anchorLocations;
+
+    @Value("${app.trust.intermediates:}")
+    private String[] intermediateLocations;
+
+    private CertificateIndex anchors = new CertificateIndex(Collections.emptyList());
+    private CertificateIndex intermediates = new CertificateIndex(Collections.emptyList());
+
+    @PostConstruct
+    public void load() {
+        anchors = new CertificateIndex(loadCertificates(anchorLocations));
+        intermediates = new CertificateIndex(loadCertificates(intermediateLocations));
+        log.info("Loaded {} trust anchors and {} intermediate certificates",
+                anchors.size(), intermediates.size());
+    }
+
+    /**
+     * Trust anchors that may have issued {@code certificate}, matched by authority key
+     * identifier when present and by issuer DN otherwise.
+     */
+    public List<X509Certificate> findAnchorIssuers(X509Certificate certificate) {
+        return anchors.findIssuers(certificate);
+    }
+
+    /**
+     * Configured intermediate certificates that may have issued {@code certificate}.
+     */
+    public List<X509Certificate> findIntermediateIssuers(X509Certificate certificate) {
+        return intermediates.findIssuers(certificate);
+    }
+
+    /**
+     * Whether {@code certificate} is itself a configured trust anchor.
+     */
+    public boolean isAnchor(X509Certificate certificate) {
+        return anchors.contains(certificate);
+    }
+
+    private List<X509Certificate> loadCertificates(String[] locations) {
+        List<X509Certificate> certificates = new ArrayList<>();
+        if (locations == null) {
+            return certificates;
+        }
+
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        for (String location : locations) {
+            if (location == null || location.isBlank()) {
+                continue;
+            }
+            try {
+                CertificateFactory factory = CertificateFactory.getInstance("X.509");
+                for (Resource resource : resolver.getResources(location.trim())) {
+                    try (InputStream in = resource.getInputStream()) {
+                        Collection<? extends Certificate> loaded = factory.generateCertificates(in);
+                        for (Certificate cert : loaded) {
+                            certificates.add((X509Certificate) cert);
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Failed to load trust certificates from {}", location, e);
+                throw new RuntimeException("Failed to load trust certificates from " + location, e);
+            }
+        }
+        return certificates;
+    }
+
+    /**
+     * Hex-encoded subject key identifier of a certificate, or {@code null} if absent.
+     */
+    static String subjectKeyIdentifier(X509Certificate certificate) {
+        byte[] extension = certificate.getExtensionValue(Extension.subjectKeyIdentifier.getId());
+        if (extension == null) {
+            return null;
+        }
+        return Hex.toHexString(SubjectKeyIdentifier.getInstance(
+                ASN1OctetString.getInstance(extension).getOctets()).getKeyIdentifier());
+    }
+
+    /**
+     * Hex-encoded authority key identifier of a certificate, or {@code null} if absent.
+     */
+    static String authorityKeyIdentifier(X509Certificate certificate) {
+        byte[] extension = certificate.getExtensionValue(Extension.authorityKeyIdentifier.getId());
+        if (extension == null) {
+            return null;
+        }
+        byte[] keyIdentifier = AuthorityKeyIdentifier.getInstance(
+                ASN1OctetString.getInstance(extension).getOctets()).getKeyIdentifier();
+        return keyIdentifier != null ? Hex.toHexString(keyIdentifier) : null;
+    }
+
+    /**
+     * Certificates indexed by subject key identifier and subject DN.
+     */
+    static final class CertificateIndex {
+
+        private final List<X509Certificate> certificates;
+        private final Map<String, List<X509Certificate>> bySubjectKeyId = new HashMap<>();
+        private final Map<X500Principal, List<X509Certificate>> bySubject = new HashMap<>();
+
+        CertificateIndex(Collection<X509Certificate> certificates) {
+            this.certificates = List.copyOf(certificates);
+            for (X509Certificate certificate : this.certificates) {
+                String keyId = subjectKeyIdentifier(certificate);
+                if (keyId != null) {
+                    bySubjectKeyId.computeIfAbsent(keyId, key -> new ArrayList<>()).add(certificate);
+                }
+                bySubject.computeIfAbsent(certificate.getSubjectX500Principal(), key -> new ArrayList<>())
+                        .add(certificate);
+            }
+        }
+
+        List<X509Certificate> findIssuers(X509Certificate certificate) {
+            String authorityKeyId = authorityKeyIdentifier(certificate);
+            if (authorityKeyId != null) {
+                List<X509Certificate> byKeyId = bySubjectKeyId.get(authorityKeyId);
+                if (byKeyId != null) {
+                    return byKeyId;
+                }
+            }
+            return bySubject.getOrDefault(certificate.getIssuerX500Principal(), Collections.emptyList());
+        }
+
+        boolean contains(X509Certificate certificate) {
+            return bySubject.getOrDefault(certificate.getSubjectX500Principal(), Collections.emptyList())
+                    .contains(certificate);
+        }
+
+        int size() {
+            return certificates.size();
+        }
+    }
+}
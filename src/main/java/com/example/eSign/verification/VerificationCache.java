@@ -0,0 +1,201 @@
+package com.example.eSign.verification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Two-tier cache of {@link SignatureCheck} results keyed by a hash of the signed content
+ * and the signature value.
+ * <p>
+ * The first tier is a bounded in-process LRU with a short TTL; the second is Redis, shared
+ * by every node. Concurrent lookups for the same key are coalesced so only one caller
+ * performs the verification. Redis failures never fail a verification; the cache is
+ * simply bypassed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VerificationCache {
+
+    private static final String KEY_PREFIX = "esign:verify:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${app.verification.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.verification.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.verification.cache.ttl:10m}")
+    private Duration localTtl;
+
+    @Value("${app.verification.cache.redis-enabled:true}")
+    private boolean redisEnabled;
+
+    @Value("${app.verification.cache.redis-ttl:24h}")
+    private Duration redisTtl;
+
+    private final Map<String, CompletableFuture<SignatureCheck>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, LocalEntry> local = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LocalEntry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * Returns the cached result for {@code key}, computing and storing it with
+     * {@code loader} on a miss. Exceptions from the loader are propagated to every
+     * coalesced caller and are not cached.
+     */
+    public SignatureCheck getOrCompute(String key, Callable<SignatureCheck> loader) throws Exception {
+        if (!enabled) {
+            return loader.call();
+        }
+
+        SignatureCheck cached = getLocal(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<SignatureCheck> pending = new CompletableFuture<>();
+        CompletableFuture<SignatureCheck> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            SignatureCheck result = getShared(key);
+            if (result == null) {
+                result = loader.call();
+                putShared(key, result);
+            }
+            putLocal(key, result);
+            pending.complete(result);
+            return result;
+        } catch (Exception e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    private SignatureCheck getLocal(String key) {
+        synchronized (local) {
+            LocalEntry entry = local.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() < System.nanoTime()) {
+                local.remove(key);
+                return null;
+            }
+            return entry.check();
+        }
+    }
+
+    private void putLocal(String key, SignatureCheck check) {
+        synchronized (local) {
+            local.put(key, new LocalEntry(check, System.nanoTime() + localTtl.toNanos()));
+        }
+    }
+
+    private SignatureCheck getShared(String key) {
+        if (!redisEnabled) {
+            return null;
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+            return value != null ? decode(value) : null;
+        } catch (Exception e) {
+            log.debug("Verification cache lookup failed for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void putShared(String key, SignatureCheck check) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, encode(check), redisTtl);
+        } catch (Exception e) {
+            log.debug("Verification cache store failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Serialises a result as {@code <1|0>|<base64 signer certificate>|<base64 certificate>,...}.
+     */
+    private static String encode(SignatureCheck check) {
+        Base64.Encoder encoder = Base64.getEncoder();
+        StringBuilder value = new StringBuilder()
+                .append(check.integrityValid() ? "1" : "0")
+                .append('|');
+        if (check.signerCertificate() != null) {
+            value.append(encoder.encodeToString(check.signerCertificate()));
+        }
+        value.append('|');
+        List<byte[]> embedded = check.embeddedCertificates();
+        for (int i = 0; embedded != null && i < embedded.size(); i++) {
+            if (i > 0) {
+                value.append(',');
+            }
+            value.append(encoder.encodeToString(embedded.get(i)));
+        }
+        return value.toString();
+    }
+
+    private static SignatureCheck decode(String value) {
+        String[] parts = value.split("\\|", -1);
+        if (parts.length != 3) {
+            return null;
+        }
+        Base64.Decoder decoder = Base64.getDecoder();
+        List<byte[]> embedded = new ArrayList<>();
+        if (!parts[2].isEmpty()) {
+            for (String certificate : parts[2].split(",")) {
+                embedded.add(decoder.decode(certificate));
+            }
+        }
+        return new SignatureCheck(
+                "1".equals(parts[0]),
+                parts[1].isEmpty() ? null : decoder.decode(parts[1]),
+                embedded
+        );
+    }
+
+    private static SignatureCheck await(CompletableFuture<SignatureCheck> future) throws Exception {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record LocalEntry(SignatureCheck check, long expiresAt) {
+    }
+}
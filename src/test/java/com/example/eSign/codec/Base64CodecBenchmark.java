@@ -0,0 +1,131 @@
+package com.example.eSign.codec;
+
+import com.example.eSign.dto.FileOperationRequest;
+import com.example.eSign.dto.FileOperationResponse;
+import com.example.eSign.service.impl.FileOperationServiceImpl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Compares the streaming base64 file path of {@link FileOperationServiceImpl} with
+ * {@link ParallelBase64Codec} across file sizes.
+ * <p>
+ * Not part of the test suite; run manually, e.g.
+ * {@code java -cp target/test-classes:target/classes:<deps> com.example.eSign.codec.Base64CodecBenchmark [sizeMiB...]}.
+ * Each size is encoded and decoded a few times per implementation after a warm-up round;
+ * the best run is reported and the outputs of both paths are checked to be identical.
+ */
+public class Base64CodecBenchmark {
+
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        int[] sizesMib = args.length > 0
+                ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[]{16, 128, 512};
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        // Never initialised by Spring, so it always takes the sequential streaming path.
+        FileOperationServiceImpl sequential = new FileOperationServiceImpl();
+        Path dir = Files.createTempDirectory("esign-base64-bench");
+
+        try (ParallelBase64Codec parallel = new ParallelBase64Codec(threads)) {
+            System.out.printf("%d cores%n", threads);
+            System.out.printf("%-10s %-10s %14s %14s %9s%n", "size", "operation", "sequential", "parallel", "speedup");
+
+            for (int sizeMib : sizesMib) {
+                Path binary = dir.resolve("input-" + sizeMib + ".bin");
+                writeRandom(binary, (long) sizeMib * 1024 * 1024);
+
+                Path sequentialText = dir.resolve("sequential.b64");
+                Path parallelText = dir.resolve("parallel.b64");
+                double sequentialEncode = best(() -> run(sequential, false, binary, sequentialText));
+                double parallelEncode = best(() -> parallel.encode(binary, parallelText));
+                requireSame(sequentialText, parallelText);
+                print(sizeMib, "encode", sequentialEncode, parallelEncode);
+
+                Path sequentialBinary = dir.resolve("sequential.bin");
+                Path parallelBinary = dir.resolve("parallel.bin");
+                double sequentialDecode = best(() -> run(sequential, true, sequentialText, sequentialBinary));
+                double parallelDecode = best(() -> parallel.decode(sequentialText, parallelBinary));
+                requireSame(sequentialBinary, parallelBinary);
+                requireSame(binary, parallelBinary);
+                print(sizeMib, "decode", sequentialDecode, parallelDecode);
+
+                for (Path file : new Path[]{binary, sequentialText, parallelText, sequentialBinary, parallelBinary}) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static void run(FileOperationServiceImpl service, boolean decode, Path input, Path output) {
+        FileOperationRequest request = new FileOperationRequest();
+        request.setInputFileName(input.toString());
+        request.setOutputFileName(output.toString());
+        FileOperationResponse response = decode ? service.decodeFile(request) : service.encodeFile(request);
+        if (!Boolean.TRUE.equals(response.getSuccess())) {
+            throw new IllegalStateException(response.getError());
+        }
+    }
+
+    /**
+     * Best wall-clock time in seconds over {@link #ROUNDS} timed runs after one warm-up run.
+     */
+    private static double best(Operation operation) throws Exception {
+        operation.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000_000.0;
+    }
+
+    private static void print(int sizeMib, String operation, double sequentialSeconds, double parallelSeconds) {
+        System.out.printf("%-10s %-10s %9.1f MiB/s %9.1f MiB/s %8.2fx%n",
+                sizeMib + " MiB", operation,
+                sizeMib / sequentialSeconds, sizeMib / parallelSeconds, sequentialSeconds / parallelSeconds);
+    }
+
+    private static void writeRandom(Path file, long size) throws IOException {
+        Random random = new Random(42);
+        byte[] block = new byte[1024 * 1024];
+        try (var out = Files.newOutputStream(file)) {
+            for (long written = 0; written < size; written += block.length) {
+                random.nextBytes(block);
+                out.write(block, 0, (int) Math.min(block.length, size - written));
+            }
+        }
+    }
+
+    private static void requireSame(Path expected, Path actual) throws IOException {
+        if (Files.size(expected) != Files.size(actual)) {
+            throw new IllegalStateException("Size mismatch: " + expected + " vs " + actual);
+        }
+        byte[] a = new byte[1024 * 1024];
+        byte[] b = new byte[1024 * 1024];
+        try (InputStream first = Files.newInputStream(expected); InputStream second = Files.newInputStream(actual)) {
+            int read;
+            while ((read = first.readNBytes(a, 0, a.length)) > 0) {
+                second.readNBytes(b, 0, read);
+                if (!Arrays.equals(a, 0, read, b, 0, read)) {
+                    throw new IllegalStateException("Content mismatch: " + expected + " vs " + actual);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
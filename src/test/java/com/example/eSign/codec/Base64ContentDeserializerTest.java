@@ -0,0 +1,134 @@
+package com.example.eSign.codec;
+
+import com.example.eSign.dto.PdfSignBase64Request;
+import com.example.eSign.exception.InvalidBase64ContentException;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Base64ContentDeserializerTest {
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    @Test
+    void decodesPaddedAndUnpaddedContentAndBindsLaterFields() throws Exception {
+        for (int size = 0; size < 10; size++) {
+            byte[] bytes = randomBytes(size);
+            String padded = Base64.getEncoder().encodeToString(bytes);
+            String unpadded = Base64.getEncoder().withoutPadding().encodeToString(bytes);
+
+            for (String base64 : new String[]{padded, unpadded}) {
+                PdfSignBase64Request request = read("{\"pdfBase64\":\"" + base64 + "\",\"fileName\":\"x.pdf\"}");
+                assertArrayEquals(bytes, request.getPdfBase64().toByteArray());
+                assertEquals("x.pdf", request.getFileName());
+            }
+        }
+    }
+
+    @Test
+    void acceptsEscapedSlashes() throws Exception {
+        byte[] bytes = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x00, 0x0F, (byte) 0xFF};
+        String base64 = Base64.getEncoder().encodeToString(bytes);
+        assertEquals("////AA//", base64);
+
+        PdfSignBase64Request request = read("{\"pdfBase64\":\"" + base64.replace("/", "\\/") + "\"}");
+
+        assertArrayEquals(bytes, request.getPdfBase64().toByteArray());
+    }
+
+    @Test
+    void truncatedUnitIsRejected() {
+        assertInvalid("{\"pdfBase64\":\"abcde\",\"fileName\":\"x.pdf\"}");
+        assertInvalid("{\"fileName\":\"x.pdf\",\"pdfBase64\":\"abcde\"}");
+    }
+
+    @Test
+    void invalidCharacterIsRejected() {
+        assertInvalid("{\"pdfBase64\":\"ab!d\",\"fileName\":\"x.pdf\"}");
+    }
+
+    @Test
+    void embeddedWhitespaceIsRejected() {
+        assertInvalid("{\"pdfBase64\":\"abcd efgh\",\"fileName\":\"x.pdf\"}");
+        assertInvalid("{\"pdfBase64\":\"abcd\\nefgh\"}");
+        assertInvalid("{\"pdfBase64\":\" abcd\"}");
+        // Slashes only excuse extra characters when every one of them was escaped.
+        assertInvalid("{\"pdfBase64\":\"////AA// \"}");
+    }
+
+    @Test
+    void largeContentSpillsToFileThatCloseDeletes() throws Exception {
+        byte[] bytes = randomBytes(Base64ContentDeserializer.SPILL_THRESHOLD + 1000);
+        String base64 = Base64.getEncoder().encodeToString(bytes);
+
+        PdfSignBase64Request request = read("{\"pdfBase64\":\"" + base64 + "\"}");
+        Base64Content content = request.getPdfBase64();
+
+        assertTrue(content.isFileBacked());
+        assertEquals(bytes.length, content.size());
+        assertArrayEquals(bytes, content.toByteArray());
+        Path file = content.getFile();
+        content.close();
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void spillFileIsDeletedWhenLargeContentIsRejected() throws Exception {
+        byte[] bytes = randomBytes(Base64ContentDeserializer.SPILL_THRESHOLD + 1000);
+        String base64 = Base64.getEncoder().encodeToString(bytes);
+        Set<Path> before = spillFiles();
+
+        // Fails while decoding, after the spill file was created.
+        assertInvalid("{\"pdfBase64\":\"" + base64 + "!abc\"}");
+        assertEquals(before, spillFiles());
+
+        // Fails the whitespace check on complete, file-backed content.
+        assertInvalid("{\"pdfBase64\":\"" + base64 + " \"}");
+        assertEquals(before, spillFiles());
+    }
+
+    private PdfSignBase64Request read(String json) {
+        // Streamed bytes, as for an HTTP request body.
+        return mapper.readValue(new ByteArrayInputStream(json.getBytes(StandardCharsets.US_ASCII)),
+                PdfSignBase64Request.class);
+    }
+
+    private void assertInvalid(String json) {
+        JacksonException e = assertThrows(JacksonException.class, () -> read(json));
+        Throwable cause = e;
+        while (cause != null && !(cause instanceof InvalidBase64ContentException)) {
+            cause = cause.getCause();
+        }
+        assertTrue(cause != null, "not an invalid base64 failure: " + e);
+    }
+
+    private static Set<Path> spillFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("esign-content-"))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
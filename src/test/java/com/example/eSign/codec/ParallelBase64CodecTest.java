@@ -0,0 +1,121 @@
+package com.example.eSign.codec;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the chunked codec against {@link Base64#getEncoder()} / {@link Base64#getDecoder()}
+ * over whole files, around the 3 MiB (binary) and 4 MiB (text) chunk boundaries.
+ */
+class ParallelBase64CodecTest {
+
+    private static final int MIB = 1024 * 1024;
+
+    private final ParallelBase64Codec codec = new ParallelBase64Codec(4);
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void tearDown() {
+        codec.close();
+    }
+
+    @Test
+    void smallFilesMatchJdkCodec() throws Exception {
+        for (int size = 0; size <= 10; size++) {
+            assertRoundTrip(size);
+        }
+    }
+
+    @Test
+    void filesAroundChunkBoundariesMatchJdkCodec() throws Exception {
+        // Every size % 3 on each side of one and two whole encode chunks.
+        for (int base : new int[]{3 * MIB, 6 * MIB}) {
+            for (int delta = -3; delta <= 3; delta++) {
+                assertRoundTrip(base + delta);
+            }
+        }
+    }
+
+    @Test
+    void unpaddedTextAroundChunkBoundaryMatchesJdkDecoder() throws Exception {
+        // Encoded lengths 4 MiB + 2 and 4 MiB + 3, with the padding stripped.
+        for (int size : new int[]{3 * MIB + 1, 3 * MIB + 2}) {
+            byte[] data = randomBytes(size);
+            byte[] text = Base64.getEncoder().withoutPadding().encode(data);
+            Path input = write("unpadded.txt", text);
+            Path output = dir.resolve("unpadded.bin");
+
+            assertEquals(size, codec.decode(input, output));
+            assertArrayEquals(data, Files.readAllBytes(output));
+        }
+    }
+
+    @Test
+    void paddingBeforeLastChunkIsRejected() throws Exception {
+        // 3 MiB - 1 bytes encode to exactly one 4 MiB text chunk ending in '='.
+        byte[] first = Base64.getEncoder().encode(randomBytes(3 * MIB - 1));
+        byte[] text = Arrays.copyOf(first, first.length + 4);
+        System.arraycopy("QUJD".getBytes(StandardCharsets.US_ASCII), 0, text, first.length, 4);
+        Path input = write("padded.txt", text);
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(input, dir.resolve("padded.bin")));
+        assertThrows(IllegalArgumentException.class, () -> Base64.getDecoder().decode(text));
+    }
+
+    @Test
+    void danglingCharacterIsRejected() throws Exception {
+        byte[] text = Arrays.copyOf(Base64.getEncoder().encode(randomBytes(3 * MIB)), 4 * MIB + 1);
+        text[4 * MIB] = 'Q';
+        Path input = write("dangling.txt", text);
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(input, dir.resolve("dangling.bin")));
+        assertThrows(IllegalArgumentException.class, () -> Base64.getDecoder().decode(text));
+    }
+
+    @Test
+    void invalidCharacterInLaterChunkIsRejected() throws Exception {
+        byte[] text = Base64.getEncoder().encode(randomBytes(6 * MIB));
+        text[5 * MIB] = '!';
+        Path input = write("invalid.txt", text);
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(input, dir.resolve("invalid.bin")));
+    }
+
+    private void assertRoundTrip(int size) throws Exception {
+        byte[] data = randomBytes(size);
+        Path input = write("data.bin", data);
+        Path encoded = dir.resolve("data.txt");
+        Path decoded = dir.resolve("data.out");
+
+        byte[] expected = Base64.getEncoder().encode(data);
+        assertEquals(expected.length, codec.encode(input, encoded));
+        assertArrayEquals(expected, Files.readAllBytes(encoded), "encode " + size);
+
+        assertEquals(size, codec.decode(encoded, decoded));
+        assertArrayEquals(data, Files.readAllBytes(decoded), "decode " + size);
+    }
+
+    private Path write(String name, byte[] bytes) throws Exception {
+        return Files.write(dir.resolve(name), bytes);
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
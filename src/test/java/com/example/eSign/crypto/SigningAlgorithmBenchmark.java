@@ -0,0 +1,103 @@
+package com.example.eSign.crypto;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.cert.X509Certificate;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.RSAKeyGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares CMS signing throughput of {@link CmsSignerEngine} per key algorithm.
+ * <p>
+ * Not part of the test suite; run manually, e.g.
+ * {@code java -cp target/test-classes:target/classes:<deps> com.example.eSign.crypto.SigningAlgorithmBenchmark [seconds]}.
+ * Each algorithm is measured single-threaded and with one thread per core, signing a
+ * precomputed digest so only the CMS assembly and private-key operation are timed.
+ */
+public class SigningAlgorithmBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        long seconds = args.length > 0 ? Long.parseLong(args[0]) : 5;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        Map<String, KeyPair> keys = new LinkedHashMap<>();
+        keys.put("RSA-2048", generate("RSA", new RSAKeyGenParameterSpec(2048, RSAKeyGenParameterSpec.F4)));
+        keys.put("RSA-4096", generate("RSA", new RSAKeyGenParameterSpec(4096, RSAKeyGenParameterSpec.F4)));
+        keys.put("ECDSA P-256", generate("EC", new ECGenParameterSpec("secp256r1")));
+        keys.put("ECDSA P-384", generate("EC", new ECGenParameterSpec("secp384r1")));
+        keys.put("Ed25519", KeyPairGenerator.getInstance("Ed25519").generateKeyPair());
+
+        System.out.printf("%-12s %-16s %14s %14s%n", "Key", "Algorithm", "ops/s (1 thr)", "ops/s (" + threads + " thr)");
+        for (Map.Entry<String, KeyPair> entry : keys.entrySet()) {
+            KeyPair keyPair = entry.getValue();
+            CmsSignerEngine engine = new CmsSignerEngine(entry.getKey(), keyPair.getPrivate(),
+                    List.of(selfSigned(keyPair, SigningAlgorithm.forKey(keyPair.getPrivate()).signatureAlgorithm())), null);
+            byte[] digest = MessageDigest.getInstance(engine.getDigestAlgorithm()).digest(new byte[1024]);
+
+            // Warm up the JIT and the content signer pool before measuring.
+            run(engine, digest, threads, 1);
+            double single = run(engine, digest, 1, seconds);
+            double multi = run(engine, digest, threads, seconds);
+
+            System.out.printf("%-12s %-16s %14.0f %14.0f%n",
+                    entry.getKey(), engine.getSignatureAlgorithm(), single, multi);
+        }
+    }
+
+    private static double run(CmsSignerEngine engine, byte[] digest, int threads, long seconds) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long start = System.nanoTime();
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                long count = 0;
+                while (System.nanoTime() < deadline) {
+                    engine.signDigest(digest);
+                    count++;
+                }
+                return count;
+            }));
+        }
+        long total = 0;
+        for (Future<Long> future : futures) {
+            total += future.get();
+        }
+        executor.shutdown();
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return total / elapsedSeconds;
+    }
+
+    private static KeyPair generate(String algorithm, AlgorithmParameterSpec spec) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+        generator.initialize(spec);
+        return generator.generateKeyPair();
+    }
+
+    private static X509Certificate selfSigned(KeyPair keyPair, String signatureAlgorithm) throws Exception {
+        X500Name subject = new X500Name("CN=eSign Benchmark");
+        Date notBefore = new Date();
+        Date notAfter = new Date(notBefore.getTime() + TimeUnit.DAYS.toMillis(1));
+        JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(
+                subject, BigInteger.ONE, notBefore, notAfter, subject, keyPair.getPublic());
+        return new JcaX509CertificateConverter().getCertificate(
+                builder.build(new JcaContentSignerBuilder(signatureAlgorithm).build(keyPair.getPrivate())));
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.eSign.job;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalSigningJobStoreTest {
+
+    private static final Duration NO_WAIT = Duration.ofMillis(1);
+
+    private LocalSigningJobStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new LocalSigningJobStore();
+        ReflectionTestUtils.setField(store, "ttl", Duration.ofHours(24));
+    }
+
+    @Test
+    void claimedJobStaysInProgressUntilAcknowledged() throws Exception {
+        submit("job-1");
+
+        assertEquals("job-1", store.poll(NO_WAIT));
+        assertNull(store.poll(NO_WAIT));
+        assertEquals(List.of("job-1"), store.inProgress());
+
+        store.acknowledge("job-1");
+        assertTrue(store.inProgress().isEmpty());
+    }
+
+    @Test
+    void staleClaimIsRequeued() throws Exception {
+        submit("job-1");
+        store.poll(NO_WAIT);
+        SigningJob job = markProcessing("job-1");
+
+        assertTrue(store.requeue(job));
+
+        assertEquals(SigningJobStatus.QUEUED, job.getStatus());
+        assertEquals(SigningJobStatus.QUEUED, store.find("job-1").orElseThrow().getStatus());
+        assertTrue(store.inProgress().isEmpty());
+        assertEquals("job-1", store.poll(NO_WAIT));
+    }
+
+    @Test
+    void requeueIsRefusedOnceTheWorkerHasFinished() throws Exception {
+        submit("job-1");
+        store.poll(NO_WAIT);
+        markProcessing("job-1");
+        SigningJob seenByReaper = store.find("job-1").orElseThrow();
+
+        // The worker completes and acknowledges between the reaper's read and its requeue.
+        SigningJob finished = store.find("job-1").orElseThrow();
+        finished.setStatus(SigningJobStatus.COMPLETED);
+        finished.setUpdatedAt(seenByReaper.getUpdatedAt() + 1);
+        store.save(finished);
+        store.acknowledge("job-1");
+
+        assertFalse(store.requeue(seenByReaper));
+        assertFalse(store.fail(seenByReaper, "abandoned"));
+        assertEquals(SigningJobStatus.COMPLETED, store.find("job-1").orElseThrow().getStatus());
+        assertNull(store.poll(NO_WAIT));
+    }
+
+    @Test
+    void requeueIsRefusedWhileTheWorkerIsStillSaving() throws Exception {
+        submit("job-1");
+        store.poll(NO_WAIT);
+        SigningJob seenByReaper = markProcessing("job-1");
+
+        // The worker saves the final status but has not acknowledged yet.
+        SigningJob finished = store.find("job-1").orElseThrow();
+        finished.setStatus(SigningJobStatus.FAILED);
+        finished.setUpdatedAt(seenByReaper.getUpdatedAt() + 1);
+        store.save(finished);
+
+        assertFalse(store.requeue(seenByReaper));
+        assertEquals(SigningJobStatus.FAILED, store.find("job-1").orElseThrow().getStatus());
+        assertEquals(List.of("job-1"), store.inProgress());
+    }
+
+    @Test
+    void onlyOneReaperRequeuesAClaim() throws Exception {
+        submit("job-1");
+        store.poll(NO_WAIT);
+        SigningJob first = markProcessing("job-1");
+        SigningJob second = store.find("job-1").orElseThrow();
+
+        assertTrue(store.requeue(first));
+        assertFalse(store.requeue(second));
+        assertEquals("job-1", store.poll(NO_WAIT));
+        assertNull(store.poll(NO_WAIT));
+    }
+
+    @Test
+    void abandonedClaimIsFailedAndReleased() throws Exception {
+        submit("job-1");
+        store.poll(NO_WAIT);
+        SigningJob job = markProcessing("job-1");
+
+        assertTrue(store.fail(job, "abandoned"));
+
+        SigningJob stored = store.find("job-1").orElseThrow();
+        assertEquals(SigningJobStatus.FAILED, stored.getStatus());
+        assertEquals("abandoned", stored.getError());
+        assertTrue(store.inProgress().isEmpty());
+        assertNull(store.poll(NO_WAIT));
+    }
+
+    @Test
+    void foundJobsAreCopies() {
+        submit("job-1");
+
+        store.find("job-1").orElseThrow().setStatus(SigningJobStatus.FAILED);
+
+        assertEquals(SigningJobStatus.QUEUED, store.find("job-1").orElseThrow().getStatus());
+    }
+
+    private void submit(String jobId) {
+        SigningJob job = new SigningJob();
+        job.setId(jobId);
+        job.setStatus(SigningJobStatus.QUEUED);
+        job.setCreatedAt(1000);
+        job.setUpdatedAt(1000);
+        store.save(job);
+        store.saveInput(jobId, "JVBERi0=");
+        store.enqueue(jobId);
+    }
+
+    private SigningJob markProcessing(String jobId) {
+        SigningJob job = store.find(jobId).orElseThrow();
+        job.setStatus(SigningJobStatus.PROCESSING);
+        job.setAttempts(job.getAttempts() + 1);
+        job.setUpdatedAt(2000);
+        store.save(job);
+        return job;
+    }
+}
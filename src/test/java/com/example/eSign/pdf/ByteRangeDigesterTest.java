@@ -0,0 +1,140 @@
+package com.example.eSign.pdf;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks the single-pass digests against hashing each signature's two ranges on their own.
+ */
+class ByteRangeDigesterTest {
+
+    private static final String SHA256_OID = "2.16.840.1.101.3.4.2.1";
+
+    private final byte[] data = randomBytes(100_000, 42);
+
+    @Test
+    void incrementalSignaturesMatchPerRangeDigests() throws Exception {
+        // Three revisions, each signature covering everything up to the end of its revision.
+        List<int[]> ranges = List.of(
+                new int[]{0, 1000, 1200, 20_000 - 1200},
+                new int[]{0, 30_000, 30_300, 60_000 - 30_300},
+                new int[]{0, 80_000, 80_500, 100_000 - 80_500});
+
+        assertMatchesNaive(ranges, List.of("SHA-256", "SHA-256", "SHA-256"));
+    }
+
+    @Test
+    void unsortedAndOverlappingRangesMatchPerRangeDigests() throws Exception {
+        List<int[]> ranges = List.of(
+                new int[]{0, 50_000, 50_100, 10_000},
+                new int[]{0, 5000, 5100, 90_000},
+                // Does not start at 0, and overlaps the holes of the others.
+                new int[]{4000, 2000, 49_000, 30_000},
+                new int[]{0, 5000, 5100, 90_000},
+                new int[]{0, 0, 0, 100_000},
+                new int[]{100, 0, 100, 0});
+
+        assertMatchesNaive(ranges, List.of("SHA-256", "SHA-256", "SHA-256", "SHA-256", "SHA-256", "SHA-256"));
+    }
+
+    @Test
+    void groupsByAlgorithmIncludingOids() throws Exception {
+        List<int[]> ranges = List.of(
+                new int[]{0, 1000, 2000, 8000},
+                new int[]{0, 1000, 2000, 8000},
+                new int[]{0, 40_000, 41_000, 59_000},
+                new int[]{0, 40_000, 41_000, 59_000});
+
+        assertMatchesNaive(ranges, List.of("SHA-256", "SHA-1", SHA256_OID, "SHA-512"));
+    }
+
+    @Test
+    void malformedRangesAndUnknownAlgorithmsYieldNull() throws Exception {
+        List<int[]> ranges = Arrays.asList(
+                new int[]{0, 1000, 2000, 8000},
+                new int[]{0, 3000, 2000, 8000},
+                new int[]{0, 1000, 2000, 200_000},
+                new int[]{0, 1000, 2000},
+                null,
+                new int[]{0, 1000, 2000, 8000},
+                new int[]{0, 1000, 2000, 8000});
+        List<String> algorithms = Arrays.asList("SHA-256", "SHA-256", "SHA-256", "SHA-256", "SHA-256", "NO-SUCH-DIGEST", null);
+
+        List<byte[]> digests = ByteRangeDigester.digest(data, ranges, algorithms);
+
+        assertArrayEquals(naive(ranges.get(0), "SHA-256"), digests.get(0));
+        for (int i = 1; i < ranges.size(); i++) {
+            assertNull(digests.get(i), "entry " + i);
+        }
+    }
+
+    @Test
+    void bufferViewIsNotModified() throws Exception {
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+        direct.put(data).flip();
+        direct.position(10);
+        List<int[]> ranges = List.of(new int[]{0, 500, 700, 50_000}, new int[]{0, 60_000, 60_100, 39_900});
+
+        List<byte[]> digests = ByteRangeDigester.digest(direct, ranges, List.of("SHA-256", "SHA-256"));
+
+        assertEquals(10, direct.position());
+        assertEquals(data.length, direct.limit());
+        for (int i = 0; i < ranges.size(); i++) {
+            assertArrayEquals(naive(ranges.get(i), "SHA-256"), digests.get(i));
+        }
+    }
+
+    @Test
+    void randomRangesMatchPerRangeDigests() throws Exception {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            int count = 1 + random.nextInt(6);
+            List<int[]> ranges = new ArrayList<>();
+            List<String> algorithms = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int a = random.nextInt(data.length + 1);
+                int b = random.nextInt(data.length + 1);
+                int c = random.nextInt(data.length + 1);
+                int d = random.nextInt(data.length + 1);
+                int[] points = {a, b, c, d};
+                Arrays.sort(points);
+                int start = random.nextBoolean() ? 0 : points[0];
+                ranges.add(new int[]{start, points[1] - start, points[2], points[3] - points[2]});
+                algorithms.add(random.nextBoolean() ? "SHA-256" : "SHA-1");
+            }
+            assertMatchesNaive(ranges, algorithms);
+        }
+    }
+
+    private void assertMatchesNaive(List<int[]> ranges, List<String> algorithms) throws Exception {
+        List<byte[]> digests = ByteRangeDigester.digest(data, ranges, algorithms);
+        assertEquals(ranges.size(), digests.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            assertArrayEquals(naive(ranges.get(i), algorithms.get(i)), digests.get(i),
+                    "range " + i + " " + Arrays.toString(ranges.get(i)));
+        }
+    }
+
+    private byte[] naive(int[] range, String algorithm) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance(algorithm);
+        digest.update(data, range[0], range[1]);
+        digest.update(data, range[2], range[3]);
+        return digest.digest();
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.eSign.pdf;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdfwriter.compress.CompressParameters;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.encryption.AccessPermission;
+import org.apache.pdfbox.pdmodel.encryption.StandardProtectionPolicy;
+import org.apache.pdfbox.pdmodel.interactive.digitalsignature.PDSignature;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link PdfSignatureScanner} against {@link PDDocument#getSignatureDictionaries()}
+ * on documents using each cross-reference layout.
+ */
+class PdfSignatureScannerTest {
+
+    @Test
+    void classicTable() throws IOException {
+        byte[] pdf = sign(blankDocument(CompressParameters.NO_COMPRESSION), "Classic");
+
+        assertFalse(contains(pdf, "/XRef"));
+        assertMatchesPdfBox(pdf, 1);
+    }
+
+    @Test
+    void xrefStream() throws IOException {
+        byte[] pdf = sign(blankDocument(CompressParameters.DEFAULT_COMPRESSION), "Stream");
+
+        assertTrue(contains(pdf, "/XRef"));
+        assertMatchesPdfBox(pdf, 1);
+    }
+
+    @Test
+    void hybrid() throws IOException {
+        byte[] pdf = hybridDocument();
+
+        List<PdfSignatureScanner.ScannedSignature> scanned = assertMatchesPdfBox(pdf, 1);
+        // The reason is an indirect object and the field lives in an object stream.
+        assertEquals("Hybrid reason", scanned.get(0).getReason());
+    }
+
+    @Test
+    void incrementalUpdate() throws IOException {
+        byte[] pdf = sign(blankDocument(CompressParameters.NO_COMPRESSION), "First");
+        pdf = appendPage(pdf);
+
+        assertMatchesPdfBox(pdf, 1);
+    }
+
+    @Test
+    void multipleSignatures() throws IOException {
+        byte[] pdf = sign(blankDocument(CompressParameters.DEFAULT_COMPRESSION), "First");
+        pdf = sign(pdf, "Second");
+        pdf = sign(pdf, "Third");
+
+        List<PdfSignatureScanner.ScannedSignature> scanned = assertMatchesPdfBox(pdf, 3);
+        assertEquals("Third", scanned.get(2).getName());
+    }
+
+    @Test
+    void encryptedDocumentIsLeftToPdfBox() throws IOException {
+        byte[] pdf;
+        try (PDDocument document = Loader.loadPDF(sign(blankDocument(CompressParameters.NO_COMPRESSION), "Secret"))) {
+            StandardProtectionPolicy policy = new StandardProtectionPolicy("owner", "", new AccessPermission());
+            policy.setEncryptionKeyLength(128);
+            document.protect(policy);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            pdf = out.toByteArray();
+        }
+
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            assertEquals(1, document.getSignatureDictionaries().size());
+        }
+        assertThrows(IOException.class, () -> PdfSignatureScanner.scan(ByteBuffer.wrap(pdf)));
+    }
+
+    @Test
+    void decompressionBombIsRejected() throws IOException {
+        byte[] bomb = deflate(new byte[64 * 1024 * 1024]);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out, "%PDF-1.5\n");
+        int offset = out.size();
+        write(out, "1 0 obj\n<< /Type /XRef /W [1 1 1] /Size 1 /Filter /FlateDecode /Length "
+                + bomb.length + " >>\nstream\n");
+        out.write(bomb);
+        write(out, "\nendstream\nendobj\nstartxref\n" + offset + "\n%%EOF\n");
+        byte[] pdf = out.toByteArray();
+
+        IOException error = assertThrows(IOException.class, () -> PdfSignatureScanner.scan(ByteBuffer.wrap(pdf)));
+        assertTrue(error.getMessage().contains("exceeds"));
+    }
+
+    private static List<PdfSignatureScanner.ScannedSignature> assertMatchesPdfBox(byte[] pdf, int expectedCount)
+            throws IOException {
+        List<PdfSignatureScanner.ScannedSignature> scanned = PdfSignatureScanner.scan(ByteBuffer.wrap(pdf));
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            List<PDSignature> expected = document.getSignatureDictionaries();
+            assertEquals(expectedCount, expected.size());
+            assertEquals(expected.size(), scanned.size());
+            for (int i = 0; i < expected.size(); i++) {
+                PDSignature signature = expected.get(i);
+                PdfSignatureScanner.ScannedSignature actual = scanned.get(i);
+                assertEquals(signature.getName(), actual.getName());
+                assertEquals(signature.getLocation(), actual.getLocation());
+                assertEquals(signature.getReason(), actual.getReason());
+                assertEquals(signature.getSubFilter(), actual.getSubFilter());
+                assertEquals(signature.getSignDate().getTimeInMillis(), actual.getSignDate().getTimeInMillis());
+                assertArrayEquals(signature.getContents(), actual.getContents());
+            }
+        }
+        return scanned;
+    }
+
+    private static byte[] blankDocument(CompressParameters compression) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(new PDPage());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out, compression);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Adds a signature in an incremental update; the CMS is a fixed placeholder.
+     */
+    private static byte[] sign(byte[] pdf, String name) throws IOException {
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            PDSignature signature = new PDSignature();
+            signature.setFilter(PDSignature.FILTER_ADOBE_PPKLITE);
+            signature.setSubFilter(PDSignature.SUBFILTER_ADBE_PKCS7_DETACHED);
+            signature.setName(name);
+            signature.setLocation("Test");
+            signature.setReason("Testing " + name);
+            signature.setSignDate(Calendar.getInstance(TimeZone.getTimeZone("UTC")));
+            document.addSignature(signature, content -> name.getBytes(StandardCharsets.US_ASCII));
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.saveIncremental(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] appendPage(byte[] pdf) throws IOException {
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            document.getPages().getCOSObject().setNeedToBeUpdated(true);
+            page.getCOSObject().setNeedToBeUpdated(true);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.saveIncremental(out);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Builds a hybrid file by hand: the signature field is stored in an object stream, the
+     * classic table marks it free, and the {@code /XRefStm} (with a PNG Up predictor) says
+     * where it really is.
+     */
+    private static byte[] hybridDocument() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long[] offsets = new long[9];
+        write(out, "%PDF-1.5\n");
+
+        offsets[1] = out.size();
+        write(out, "1 0 obj\n<< /Type /Catalog /Pages 2 0 R /AcroForm << /Fields [4 0 R] /SigFlags 3 >> >>\nendobj\n");
+        offsets[2] = out.size();
+        write(out, "2 0 obj\n<< /Type /Pages /Kids [3 0 R] /Count 1 >>\nendobj\n");
+        offsets[3] = out.size();
+        write(out, "3 0 obj\n<< /Type /Page /Parent 2 0 R /MediaBox [0 0 200 200] >>\nendobj\n");
+        offsets[5] = out.size();
+        write(out, "5 0 obj\n<< /Type /Sig /Filter /Adobe.PPKLite /SubFilter /adbe.pkcs7.detached"
+                + " /Name (Hybrid) /Location (Test) /Reason 7 0 R /M (D:20240102030405Z)"
+                + " /ByteRange [0 0 0 0] /Contents <0102030400000000> >>\nendobj\n");
+        offsets[7] = out.size();
+        write(out, "7 0 obj\n(Hybrid reason)\nendobj\n");
+
+        String field = "<< /FT /Sig /T (Signature1) /V 5 0 R >>";
+        String header = "4 0 ";
+        byte[] objectStream = deflate((header + field).getBytes(StandardCharsets.US_ASCII));
+        offsets[6] = out.size();
+        write(out, "6 0 obj\n<< /Type /ObjStm /N 1 /First " + header.length() + " /Filter /FlateDecode /Length "
+                + objectStream.length + " >>\nstream\n");
+        out.write(objectStream);
+        write(out, "\nendstream\nendobj\n");
+
+        // Rows of /W [1 4 2] for objects 4 (in object stream 6) and 7, each prefixed with the Up filter type.
+        byte[][] rows = {entry(2, 6, 0), entry(1, offsets[7], 0)};
+        ByteArrayOutputStream predicted = new ByteArrayOutputStream();
+        byte[] previous = new byte[7];
+        for (byte[] row : rows) {
+            predicted.write(2);
+            for (int i = 0; i < row.length; i++) {
+                predicted.write(row[i] - previous[i]);
+            }
+            previous = row;
+        }
+        byte[] xrefStream = deflate(predicted.toByteArray());
+        offsets[8] = out.size();
+        write(out, "8 0 obj\n<< /Type /XRef /Size 9 /W [1 4 2] /Index [4 1 7 1] /Filter /FlateDecode"
+                + " /DecodeParms << /Predictor 12 /Columns 7 >> /Length " + xrefStream.length + " >>\nstream\n");
+        out.write(xrefStream);
+        write(out, "\nendstream\nendobj\n");
+
+        long xref = out.size();
+        StringBuilder table = new StringBuilder("xref\n0 9\n0000000000 65535 f\r\n");
+        for (int number = 1; number < 9; number++) {
+            if (number == 4) {
+                table.append("0000000000 00001 f\r\n");
+            } else {
+                table.append(String.format("%010d 00000 n\r\n", offsets[number]));
+            }
+        }
+        write(out, table.toString());
+        write(out, "trailer\n<< /Size 9 /Root 1 0 R /XRefStm " + offsets[8] + " >>\nstartxref\n" + xref + "\n%%EOF\n");
+        return out.toByteArray();
+    }
+
+    private static byte[] entry(int type, long field2, int field3) {
+        return new byte[]{(byte) type,
+                (byte) (field2 >>> 24), (byte) (field2 >>> 16), (byte) (field2 >>> 8), (byte) field2,
+                (byte) (field3 >>> 8), (byte) field3};
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    private static void write(ByteArrayOutputStream out, String text) {
+        out.writeBytes(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static boolean contains(byte[] data, String text) {
+        return new String(data, StandardCharsets.ISO_8859_1).contains(text);
+    }
+}
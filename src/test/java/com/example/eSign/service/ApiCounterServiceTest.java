@@ -0,0 +1,204 @@
+package com.example.eSign.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ApiCounterServiceTest {
+
+    // Counter values and batch markers held by the mocked Redis.
+    private final Map<String, Long> stored = new ConcurrentHashMap<>();
+    private volatile Failure failure = Failure.NONE;
+    private ApiCounterService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, String> redis = mock(RedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenAnswer(invocation -> runFlushScript(invocation.getArgument(1), invocation.getRawArguments()));
+        when(redis.keys(anyString())).thenAnswer(invocation -> {
+            String pattern = invocation.getArgument(0);
+            String prefix = pattern.substring(0, pattern.length() - 1);
+            return stored.keySet().stream().filter(key -> key.startsWith(prefix)).collect(Collectors.toSet());
+        });
+        when(redis.opsForValue()).thenReturn(values);
+        when(values.get(anyString())).thenAnswer(invocation -> {
+            Long value = stored.get(invocation.<String>getArgument(0));
+            return value != null ? value.toString() : null;
+        });
+
+        service = new ApiCounterService(redis);
+        ReflectionTestUtils.setField(service, "flushInterval", Duration.ofMillis(1));
+    }
+
+    @Test
+    void flushesConcurrentIncrementsExactlyOnce() throws Exception {
+        service.start();
+        int threads = 8;
+        int perThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    service.increment("GET", "/api/item/" + (i % 5));
+                    if (i % 10_000 == 0) {
+                        // Some flushes fail before, and some after, Redis applied them.
+                        failure = Failure.values()[(i / 10_000) % Failure.values().length];
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        failure = Failure.NONE;
+        service.stop();
+        service.flush();
+
+        assertEquals((long) threads * perThread, total());
+        assertEquals((long) threads * perThread / 5, (long) service.getCount("GET", "/api/item/0"));
+    }
+
+    @Test
+    void retriedBatchIsNotCountedTwice() {
+        service.increment("GET", "/a");
+        service.increment("GET", "/a");
+        failure = Failure.AFTER_APPLY;
+        assertThrows(RuntimeException.class, service::flush);
+        assertEquals(2L, counter("api:count:GET:/a"));
+
+        service.increment("GET", "/a");
+        failure = Failure.NONE;
+        service.flush();
+
+        assertEquals(3L, counter("api:count:GET:/a"));
+        assertEquals(3L, (long) service.getCount("GET", "/a"));
+    }
+
+    @Test
+    void pendingCountsAreVisibleAndIdleEntriesEvicted() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            service.increment("GET", "/jobs/" + i);
+        }
+        assertEquals(1L, (long) service.getCount("GET", "/jobs/7"));
+        assertEquals(1000, service.getAllCounts().size());
+
+        service.flush();
+        assertEquals(1000, pending().size());
+        service.increment("GET", "/jobs/7");
+        service.flush();
+        service.flush();
+
+        // Every other key stayed empty for a whole interval and was evicted.
+        assertEquals(2L, (long) service.getCount("GET", "/jobs/7"));
+        assertEquals(Set.of("api:count:GET:/jobs/7"), pending().keySet());
+
+        service.flush();
+        assertTrue(pending().isEmpty());
+        assertEquals(2L, (long) service.getCount("GET", "/jobs/7"));
+    }
+
+    @Test
+    void incrementsRacingWithEvictionAreCountedOnce() throws Exception {
+        service.start();
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    // Sparse traffic over many keys, so adders are evicted while in use.
+                    service.increment("GET", "/sparse/" + ((i * 31 + seed) % 200));
+                    if (i % 1000 == 0) {
+                        Thread.sleep(3);
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        service.stop();
+        service.flush();
+
+        assertEquals((long) threads * perThread, total());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, ?> pending() {
+        return (Map<String, ?>) ReflectionTestUtils.getField(service, "pending");
+    }
+
+    private enum Failure {
+        NONE, BEFORE_APPLY, AFTER_APPLY
+    }
+
+    /**
+     * Applies the flush script to the stored values: sets the batch marker in KEYS[1], unless
+     * present, and then adds each ARGV[i] to KEYS[i].
+     */
+    private Long runFlushScript(List<String> keys, Object[] rawArguments) {
+        if (failure == Failure.BEFORE_APPLY) {
+            throw new IllegalStateException("connection refused");
+        }
+        Object[] args = (Object[]) rawArguments[2];
+        long applied = 0;
+        synchronized (stored) {
+            if (stored.putIfAbsent(keys.get(0), 1L) == null) {
+                for (int i = 1; i < keys.size(); i++) {
+                    stored.merge(keys.get(i), Long.parseLong((String) args[i]), Long::sum);
+                }
+                applied = 1;
+            }
+        }
+        if (failure == Failure.AFTER_APPLY) {
+            throw new IllegalStateException("read timed out");
+        }
+        return applied;
+    }
+
+    private long counter(String key) {
+        return stored.getOrDefault(key, 0L);
+    }
+
+    private long total() {
+        return stored.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("api:count:"))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+}
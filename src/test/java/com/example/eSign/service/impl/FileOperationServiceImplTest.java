@@ -0,0 +1,74 @@
+package com.example.eSign.service.impl;
+
+import com.example.eSign.dto.FileOperationRequest;
+import com.example.eSign.dto.FileOperationResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileOperationServiceImplTest {
+
+    private final FileOperationServiceImpl service = new FileOperationServiceImpl();
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() {
+        // Send every file through the parallel codec.
+        ReflectionTestUtils.setField(service, "parallelEnabled", true);
+        ReflectionTestUtils.setField(service, "parallelThreshold", DataSize.ofBytes(0));
+        ReflectionTestUtils.setField(service, "parallelThreads", 2);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void parallelRoundTrip() throws Exception {
+        byte[] data = "parallel codec round trip".getBytes(StandardCharsets.US_ASCII);
+        Path input = Files.write(dir.resolve("in.bin"), data);
+
+        assertTrue(service.encodeFile(request(input, dir.resolve("in.txt"))).getSuccess());
+        assertTrue(service.decodeFile(request(dir.resolve("in.txt"), dir.resolve("out.bin"))).getSuccess());
+
+        assertArrayEquals(Base64.getEncoder().encode(data), Files.readAllBytes(dir.resolve("in.txt")));
+        assertArrayEquals(data, Files.readAllBytes(dir.resolve("out.bin")));
+    }
+
+    @Test
+    void outputIsDeletedWhenParallelDecodeFails() throws Exception {
+        for (String text : new String[]{"QUJDRA=", "QU==QUJD", "QUJ!"}) {
+            Path input = Files.writeString(dir.resolve("in.txt"), text);
+            Path output = Files.writeString(dir.resolve("out.bin"), "previous content");
+
+            FileOperationResponse response = service.decodeFile(request(input, output));
+
+            assertFalse(response.getSuccess(), text);
+            assertTrue(response.getError().startsWith("Invalid base64 data"), response.getError());
+            assertFalse(Files.exists(output), text);
+        }
+    }
+
+    private static FileOperationRequest request(Path input, Path output) {
+        FileOperationRequest request = new FileOperationRequest();
+        request.setInputFileName(input.toString());
+        request.setOutputFileName(output.toString());
+        return request;
+    }
+}
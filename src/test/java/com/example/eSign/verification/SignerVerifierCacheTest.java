@@ -0,0 +1,68 @@
+package com.example.eSign.verification;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Security;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SignerVerifierCacheTest {
+
+    private SignerVerifierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
+            Security.addProvider(new BouncyCastleProvider());
+        }
+        cache = new SignerVerifierCache();
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+    }
+
+    @Test
+    void sameCertificateSharesOneEntryAcrossEncodings() throws Exception {
+        X509CertificateHolder holder = certificate(1);
+
+        SignerVerifierCache.CachedSigner fromHolder = cache.get(holder);
+        SignerVerifierCache.CachedSigner fromBytes = cache.get(holder.getEncoded());
+
+        assertSame(fromHolder, fromBytes);
+        assertArrayEquals(holder.getEncoded(), fromHolder.encoded());
+        assertEquals(BigInteger.ONE, fromHolder.certificate().getSerialNumber());
+    }
+
+    @Test
+    void cacheIsClearedWhenFull() throws Exception {
+        X509CertificateHolder first = certificate(1);
+        SignerVerifierCache.CachedSigner cached = cache.get(first);
+        cache.get(certificate(2));
+        cache.get(certificate(3));
+
+        assertNotSame(cached, cache.get(first));
+    }
+
+    private static X509CertificateHolder certificate(long serial) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(256);
+        KeyPair keyPair = generator.generateKeyPair();
+        X500Name name = new X500Name("CN=Signer " + serial);
+        long now = System.currentTimeMillis();
+        return new JcaX509v3CertificateBuilder(name, BigInteger.valueOf(serial),
+                new Date(now - 60_000), new Date(now + 3_600_000), name, keyPair.getPublic())
+                .build(new JcaContentSignerBuilder("SHA256withECDSA").build(keyPair.getPrivate()));
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.eSign.verification;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VerificationCacheTest {
+
+    private final Map<String, String> stored = new ConcurrentHashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redis = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+
+    @BeforeEach
+    void setUp() {
+        when(redis.opsForValue()).thenReturn(values);
+        when(values.get(anyString())).thenAnswer(invocation -> stored.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> stored.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(values).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void localEntriesExpireAfterTtl() throws Exception {
+        VerificationCache cache = cache(10, Duration.ofMillis(50), false);
+        SignatureCheck check = check(true);
+
+        assertSame(check, cache.getOrCompute("a", load(check)));
+        assertSame(check, cache.getOrCompute("a", load(check)));
+        assertEquals(1, loads.get());
+
+        Thread.sleep(100);
+        cache.getOrCompute("a", load(check));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() throws Exception {
+        VerificationCache cache = cache(2, Duration.ofMinutes(1), false);
+        cache.getOrCompute("a", load(check(true)));
+        cache.getOrCompute("b", load(check(true)));
+        // Touch "a" so "b" becomes the eldest entry.
+        cache.getOrCompute("a", load(check(true)));
+        cache.getOrCompute("c", load(check(true)));
+        assertEquals(3, loads.get());
+
+        cache.getOrCompute("a", load(check(true)));
+        assertEquals(3, loads.get());
+        cache.getOrCompute("b", load(check(true)));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void resultsRoundTripThroughRedis() throws Exception {
+        SignatureCheck full = new SignatureCheck(true, new byte[]{1, 2, 3},
+                List.of(new byte[]{4, 5}, new byte[]{6, 7, 8, 9}));
+        SignatureCheck empty = new SignatureCheck(false, null, List.of());
+
+        VerificationCache writer = cache(10, Duration.ofMinutes(1), true);
+        writer.getOrCompute("full", load(full));
+        writer.getOrCompute("empty", load(empty));
+        verify(values, times(2)).set(anyString(), anyString(), eq(Duration.ofHours(24)));
+
+        // Another node: empty local tier, same Redis.
+        VerificationCache reader = cache(10, Duration.ofMinutes(1), true);
+        SignatureCheck readFull = reader.getOrCompute("full", load(null));
+        SignatureCheck readEmpty = reader.getOrCompute("empty", load(null));
+        assertEquals(2, loads.get());
+
+        assertTrue(readFull.integrityValid());
+        assertArrayEquals(full.signerCertificate(), readFull.signerCertificate());
+        assertEquals(2, readFull.embeddedCertificates().size());
+        assertArrayEquals(full.embeddedCertificates().get(0), readFull.embeddedCertificates().get(0));
+        assertArrayEquals(full.embeddedCertificates().get(1), readFull.embeddedCertificates().get(1));
+
+        assertFalse(readEmpty.integrityValid());
+        assertNull(readEmpty.signerCertificate());
+        assertTrue(readEmpty.embeddedCertificates().isEmpty());
+    }
+
+    @Test
+    void redisFailuresFallBackToLoader() throws Exception {
+        when(values.get(anyString())).thenThrow(new IllegalStateException("connection refused"));
+        doThrow(new IllegalStateException("connection refused"))
+                .when(values).set(anyString(), anyString(), any(Duration.class));
+        VerificationCache cache = cache(10, Duration.ofMinutes(1), true);
+        SignatureCheck check = check(true);
+
+        assertSame(check, cache.getOrCompute("a", load(check)));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        VerificationCache cache = cache(10, Duration.ofMinutes(1), false);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SignatureCheck check = check(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<SignatureCheck> first = executor.submit(() -> cache.getOrCompute("a", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await();
+                return check;
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<SignatureCheck> second = executor.submit(() -> cache.getOrCompute("a", load(check(false))));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertSame(check, first.get(5, TimeUnit.SECONDS));
+            assertSame(check, second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void loaderFailuresAreNotCached() throws Exception {
+        VerificationCache cache = cache(10, Duration.ofMinutes(1), true);
+        assertThrows(IllegalStateException.class, () -> cache.getOrCompute("a", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        verify(values, never()).set(anyString(), anyString(), any(Duration.class));
+
+        SignatureCheck check = check(true);
+        assertSame(check, cache.getOrCompute("a", load(check)));
+    }
+
+    private VerificationCache cache(int maxEntries, Duration ttl, boolean redisEnabled) {
+        VerificationCache cache = new VerificationCache(redis);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", maxEntries);
+        ReflectionTestUtils.setField(cache, "localTtl", ttl);
+        ReflectionTestUtils.setField(cache, "redisEnabled", redisEnabled);
+        ReflectionTestUtils.setField(cache, "redisTtl", Duration.ofHours(24));
+        return cache;
+    }
+
+    private Callable<SignatureCheck> load(SignatureCheck check) {
+        return () -> {
+            loads.incrementAndGet();
+            return check;
+        };
+    }
+
+    private static SignatureCheck check(boolean valid) {
+        return new SignatureCheck(valid, new byte[]{1}, List.of());
+    }
+}